@@ -19,26 +19,57 @@ package com.microsoft.playwright.impl;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class DriverJar extends Driver {
-  private final Path driverTempDir;
+  // Written last into an extracted driver directory, contains the checksum of the bundled driver.
+  private static final String COMPLETE_MARKER = ".complete";
+  // Written into the driver directory after a successful install, lists the installed browser directories.
+  private static final String BROWSERS_INSTALLED_MARKER = ".browsers-installed";
+  private static final int EXTRACT_THREADS = 16;
+  private static final long LARGE_FILE_SIZE = 1 << 20;
+  private static final long TRANSFER_CHUNK_SIZE = 8 << 20;
+  private static final Pattern BROWSER_ENTRY = Pattern.compile("\\{[^{}]*}");
+  private static final Pattern NAME_FIELD = Pattern.compile("\"name\"\\s*:");
+  private final Path driverDir;
 
   DriverJar() throws IOException, URISyntaxException, InterruptedException {
-    driverTempDir = Files.createTempDirectory("playwright-java-");
-    driverTempDir.toFile().deleteOnExit();
-    extractDriverToTempDir();
+    long start = System.nanoTime();
+    driverDir = extractDriver();
+    recordTiming("extract", start);
     installBrowsers();
   }
 
   private void installBrowsers() throws IOException, InterruptedException {
     String cliFileName = super.cliFileName();
-    Path driver = driverTempDir.resolve(cliFileName);
+    Path driver = driverDir.resolve(cliFileName);
     if (!Files.exists(driver)) {
       throw new RuntimeException("Failed to find " + cliFileName + " at " + driver);
     }
+    long start = System.nanoTime();
+    String expectedBrowsers = expectedBrowserDirs();
+    boolean isInstalled = expectedBrowsers != null && areBrowsersInstalled(expectedBrowsers);
+    recordTiming("checkBrowsers", start);
+    if (isInstalled) {
+      return;
+    }
+    start = System.nanoTime();
     ProcessBuilder pb = new ProcessBuilder(driver.toString(), "install");
     pb.redirectError(ProcessBuilder.Redirect.INHERIT);
     pb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
@@ -48,6 +79,104 @@ public class DriverJar extends Driver {
       p.destroy();
       throw new RuntimeException("Timed out waiting for browsers to install");
     }
+    recordTiming("installBrowsers", start);
+    if (p.exitValue() == 0 && expectedBrowsers != null) {
+      try {
+        Files.write(driverDir.resolve(BROWSERS_INSTALLED_MARKER), expectedBrowsers.getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        // The install probe will run again next time.
+      }
+    }
+  }
+
+  // Fast path: the browsers were installed by this driver and their directories are still there.
+  private boolean areBrowsersInstalled(String expectedBrowsers) throws IOException {
+    Path marker = driverDir.resolve(BROWSERS_INSTALLED_MARKER);
+    if (!Files.exists(marker) || !expectedBrowsers.equals(new String(Files.readAllBytes(marker), StandardCharsets.UTF_8))) {
+      return false;
+    }
+    for (String dir : expectedBrowsers.split("\n")) {
+      if (!Files.isDirectory(Paths.get(dir))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Directories of the browser revisions the driver installs by default, one per line,
+  // or null if they can't be determined.
+  private String expectedBrowserDirs() throws IOException {
+    Path browsersJson = driverDir.resolve("package").resolve("browsers.json");
+    if (!Files.exists(browsersJson)) {
+      return null;
+    }
+    return expectedBrowserDirs(new String(Files.readAllBytes(browsersJson), StandardCharsets.UTF_8), browsersPath());
+  }
+
+  static String expectedBrowserDirs(String browsersJson, Path browsersPath) {
+    StringBuilder result = new StringBuilder();
+    int parsedEntries = 0;
+    Matcher entries = BROWSER_ENTRY.matcher(browsersJson);
+    while (entries.find()) {
+      String entry = entries.group();
+      if (NAME_FIELD.matcher(entry).find()) {
+        ++parsedEntries;
+      }
+      if (!entry.matches("(?s).*\"installByDefault\"\\s*:\\s*true.*")) {
+        continue;
+      }
+      String name = jsonStringField(entry, "name");
+      String revision = jsonStringField(entry, "revision");
+      if (name == null || revision == null) {
+        return null;
+      }
+      if (result.length() > 0) {
+        result.append('\n');
+      }
+      result.append(browsersPath.resolve(name + "-" + revision));
+    }
+    // Entries with nested objects don't match the pattern, don't skip the install probe
+    // if any browser may have been missed.
+    if (parsedEntries != countMatches(NAME_FIELD, browsersJson)) {
+      return null;
+    }
+    return result.length() == 0 ? null : result.toString();
+  }
+
+  private static int countMatches(Pattern pattern, String text) {
+    int count = 0;
+    Matcher matcher = pattern.matcher(text);
+    while (matcher.find()) {
+      ++count;
+    }
+    return count;
+  }
+
+  private static String jsonStringField(String json, String name) {
+    Matcher matcher = Pattern.compile("\"" + name + "\"\\s*:\\s*\"([^\"]*)\"").matcher(json);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  // Mirrors the driver's own logic for choosing where browsers are installed.
+  private Path browsersPath() {
+    String fromEnv = System.getenv("PLAYWRIGHT_BROWSERS_PATH");
+    if ("0".equals(fromEnv)) {
+      return driverDir.resolve("package").resolve(".local-browsers");
+    }
+    if (fromEnv != null && !fromEnv.isEmpty()) {
+      return Paths.get(fromEnv);
+    }
+    String name = System.getProperty("os.name").toLowerCase();
+    Path home = Paths.get(System.getProperty("user.home"));
+    if (name.contains("windows")) {
+      String localAppData = System.getenv("LOCALAPPDATA");
+      return (localAppData != null ? Paths.get(localAppData) : home.resolve("AppData").resolve("Local")).resolve("ms-playwright");
+    }
+    if (name.contains("mac os x")) {
+      return home.resolve("Library").resolve("Caches").resolve("ms-playwright");
+    }
+    String xdgCache = System.getenv("XDG_CACHE_HOME");
+    return (xdgCache != null ? Paths.get(xdgCache) : home.resolve(".cache")).resolve("ms-playwright");
   }
 
   private static boolean isExecutable(Path filePath) {
@@ -55,37 +184,203 @@ public class DriverJar extends Driver {
     return name.endsWith(".sh") || name.endsWith(".exe") || !name.contains(".");
   }
 
-  private void extractDriverToTempDir() throws URISyntaxException, IOException {
-    ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-    URI uri = classloader.getResource("driver/" + platformDir()).toURI();
-    // Create zip filesystem if loading from jar.
+  // Extracts the driver once per driver version into the cache directory and reuses it afterwards,
+  // falls back to a temporary directory if the cache directory is not writable.
+  private Path extractDriver() throws URISyntaxException, IOException {
+    URI uri = driverUri();
     try (FileSystem fileSystem = "jar".equals(uri.getScheme()) ? FileSystems.newFileSystem(uri, Collections.emptyMap()) : null) {
       Path srcRoot = Paths.get(uri);
-      // jar file system's .relativize gives wrong results when used with
-      // spring-boot-maven-plugin, convert to the default filesystem to
-      // have predictable results.
-      // See https://github.com/microsoft/playwright-java/issues/306
-      Path srcRootDefaultFs = Paths.get(srcRoot.toString());
-      Files.walk(srcRoot).forEach(fromPath -> {
-        Path relative = srcRootDefaultFs.relativize(Paths.get(fromPath.toString()));
-        Path toPath = driverTempDir.resolve(relative.toString());
+      String checksum = checksum(srcRoot);
+      Path cacheDir = cacheDir();
+      Path driverDir = cacheDir.resolve("driver-" + checksum.substring(0, 16));
+      if (isComplete(driverDir, checksum)) {
+        return driverDir;
+      }
+      Path tmpDir;
+      try {
+        Files.createDirectories(cacheDir);
+        tmpDir = Files.createTempDirectory(cacheDir, driverDir.getFileName() + ".tmp-");
+      } catch (IOException e) {
+        Path dir = Files.createTempDirectory("playwright-java-");
+        dir.toFile().deleteOnExit();
+        extractDriverTo(uri, srcRoot, dir, true);
+        return dir;
+      }
+      try {
+        extractDriverTo(uri, srcRoot, tmpDir, false);
+        Files.write(tmpDir.resolve(COMPLETE_MARKER), checksum.getBytes(StandardCharsets.UTF_8));
+        // Other processes may be extracting the same driver, the check and the rename must not interleave
+        // with theirs or one could delete the directory another has just completed.
+        try (FileChannel lockChannel = FileChannel.open(cacheDir.resolve(driverDir.getFileName() + ".lock"),
+               StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+          // Released when the channel is closed.
+          lockChannel.lock();
+          if (isComplete(driverDir, checksum)) {
+            return driverDir;
+          }
+          if (Files.exists(driverDir)) {
+            // Damaged copy, e.g. partially removed by a cache cleaner.
+            deleteRecursively(driverDir);
+          }
+          Files.move(tmpDir, driverDir, StandardCopyOption.ATOMIC_MOVE);
+        }
+      } finally {
+        deleteRecursively(tmpDir);
+      }
+      return driverDir;
+    }
+  }
+
+  private static URI driverUri() throws URISyntaxException {
+    ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+    return classloader.getResource("driver/" + platformDir()).toURI();
+  }
+
+  private static boolean isComplete(Path driverDir, String checksum) throws IOException {
+    Path marker = driverDir.resolve(COMPLETE_MARKER);
+    if (!Files.exists(marker)) {
+      return false;
+    }
+    return checksum.equals(new String(Files.readAllBytes(marker), StandardCharsets.UTF_8));
+  }
+
+  // Checksum of the bundled files computed from their names, sizes and CRCs stored in the jar,
+  // so that the content doesn't need to be read.
+  private static String checksum(Path srcRoot) throws IOException {
+    List<String> entries = new ArrayList<>();
+    try (Stream<Path> paths = Files.walk(srcRoot)) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.isDirectory()) {
+          continue;
+        }
+        boolean isInJar = "jar".equals(path.getFileSystem().provider().getScheme());
+        Object crc = isInJar ? Files.getAttribute(path, "zip:crc") : attributes.lastModifiedTime().toMillis();
+        entries.add(srcRoot.relativize(path) + ":" + attributes.size() + ":" + crc);
+      }
+    }
+    Collections.sort(entries);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String entry : entries) {
+        digest.update(entry.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+      }
+      StringBuilder result = new StringBuilder();
+      for (byte b : digest.digest()) {
+        result.append(String.format("%02x", b));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Path cacheDir() {
+    String fromProperty = System.getProperty("playwright.driver.cacheDir");
+    if (fromProperty != null) {
+      return Paths.get(fromProperty);
+    }
+    String name = System.getProperty("os.name").toLowerCase();
+    Path home = Paths.get(System.getProperty("user.home"));
+    if (name.contains("windows")) {
+      String localAppData = System.getenv("LOCALAPPDATA");
+      return (localAppData != null ? Paths.get(localAppData) : home.resolve("AppData").resolve("Local")).resolve("ms-playwright-java");
+    }
+    if (name.contains("mac os x")) {
+      return home.resolve("Library").resolve("Caches").resolve("ms-playwright-java");
+    }
+    String xdgCache = System.getenv("XDG_CACHE_HOME");
+    return (xdgCache != null ? Paths.get(xdgCache) : home.resolve(".cache")).resolve("ms-playwright-java");
+  }
+
+  private static void deleteRecursively(Path dir) throws IOException {
+    if (!Files.exists(dir)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private void extractDriverTo(URI uri, Path srcRoot, Path destDir, boolean deleteOnExit) throws IOException {
+    long start = System.nanoTime();
+    // jar file system's .relativize gives wrong results when used with
+    // spring-boot-maven-plugin, convert to the default filesystem to
+    // have predictable results.
+    // See https://github.com/microsoft/playwright-java/issues/306
+    Path srcRootDefaultFs = Paths.get(srcRoot.toString());
+    List<Path> files = new ArrayList<>();
+    // Directories are created up front, in walk order, so that the files can be copied in any order.
+    try (Stream<Path> paths = Files.walk(srcRoot)) {
+      for (Path fromPath : (Iterable<Path>) paths::iterator) {
+        if (Files.isDirectory(fromPath)) {
+          Path toPath = destDir.resolve(srcRootDefaultFs.relativize(Paths.get(fromPath.toString())).toString());
+          Files.createDirectories(toPath);
+          if (deleteOnExit) {
+            toPath.toFile().deleteOnExit();
+          }
+        } else {
+          files.add(fromPath);
+        }
+      }
+    }
+    // The bundle has thousands of small files, copying them in parallel hides the per-file latency.
+    ForkJoinPool pool = new ForkJoinPool(Math.min(EXTRACT_THREADS, Runtime.getRuntime().availableProcessors() * 2));
+    try {
+      pool.submit(() -> files.parallelStream().forEach(fromPath -> {
+        Path toPath = destDir.resolve(srcRootDefaultFs.relativize(Paths.get(fromPath.toString())).toString());
         try {
-          if (Files.isDirectory(fromPath)) {
-            Files.createDirectories(toPath);
-          } else {
-            Files.copy(fromPath, toPath);
-            if (isExecutable(toPath)) {
-              toPath.toFile().setExecutable(true, true);
-            }
+          copyFile(fromPath, toPath);
+          if (isExecutable(toPath)) {
+            toPath.toFile().setExecutable(true, true);
+          }
+          if (deleteOnExit) {
+            toPath.toFile().deleteOnExit();
           }
-          toPath.toFile().deleteOnExit();
         } catch (IOException e) {
           throw new RuntimeException("Failed to extract driver from " + uri, e);
         }
-      });
+      })).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while extracting driver", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException && cause.getCause() instanceof IOException) {
+        throw (IOException) cause.getCause();
+      }
+      throw new RuntimeException("Failed to extract driver from " + uri, cause);
+    } finally {
+      pool.shutdown();
+    }
+    recordTiming("copyFiles", start);
+  }
+
+  private static void copyFile(Path fromPath, Path toPath) throws IOException {
+    long size = Files.size(fromPath);
+    if (size < LARGE_FILE_SIZE) {
+      Files.copy(fromPath, toPath);
+      return;
+    }
+    // Large binaries such as node are transferred in chunks straight into the file channel.
+    try (ReadableByteChannel from = Files.newByteChannel(fromPath);
+         FileChannel to = FileChannel.open(toPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      long position = 0;
+      while (position < size) {
+        long transferred = to.transferFrom(from, position, TRANSFER_CHUNK_SIZE);
+        if (transferred <= 0) {
+          // Don't leave a truncated file behind that would then be marked complete.
+          throw new IOException("Unexpected end of file " + fromPath + " at " + position + " of " + size + " bytes");
+        }
+        position += transferred;
+      }
     }
   }
 
+
   private static String platformDir() {
     String name = System.getProperty("os.name").toLowerCase();
     if (name.contains("windows")) {
@@ -102,6 +397,6 @@ public class DriverJar extends Driver {
 
   @Override
   Path driverDir() {
-    return driverTempDir;
+    return driverDir;
   }
 }
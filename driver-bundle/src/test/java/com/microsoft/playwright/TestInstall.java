@@ -17,16 +17,39 @@
 package com.microsoft.playwright;
 
 import com.microsoft.playwright.impl.Driver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestInstall {
+  private static Path cacheDir;
+
+  // Keep the extracted driver out of the user's cache.
+  @BeforeAll
+  static void setCacheDir() throws IOException {
+    cacheDir = Files.createTempDirectory("playwright-driver-cache-");
+    System.setProperty("playwright.driver.cacheDir", cacheDir.toString());
+  }
+
+  @AfterAll
+  static void deleteCacheDir() throws IOException {
+    System.clearProperty("playwright.driver.cacheDir");
+    try (Stream<Path> paths = Files.walk(cacheDir)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
   @Test
   void playwrightCliInstalled() throws Exception {
     // Clear system property to ensure that the driver is loaded from jar.
@@ -46,4 +69,23 @@ public class TestInstall {
       assertNull(e);
     }
   }
+
+  @Test
+  void driverIsExtractedToCacheDir() {
+    System.clearProperty("playwright.cli.dir");
+    Path cli = Driver.ensureDriverInstalled();
+    // Marker is written after all files have been extracted.
+    assertTrue(Files.exists(cli.getParent().resolve(".complete")));
+    assertTrue(cli.getParent().getFileName().toString().startsWith("driver-"));
+    assertTrue(cli.startsWith(cacheDir), cli.toString());
+  }
+
+  @Test
+  void startupTimingsAreRecorded() {
+    System.clearProperty("playwright.cli.dir");
+    Driver.ensureDriverInstalled();
+    Map<String, Long> timings = Driver.startupTimingsMillis();
+    assertTrue(timings.containsKey("extract"), timings.toString());
+    assertTrue(timings.containsKey("checkBrowsers"), timings.toString());
+  }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestDriverJar {
+  private static final Path BROWSERS_PATH = Paths.get("browsers");
+
+  @Test
+  void shouldListDefaultBrowserDirs() {
+    String json = "{\"browsers\": [\n" +
+      "  {\"name\": \"chromium\", \"revision\": \"1000\", \"installByDefault\": true},\n" +
+      "  {\"name\": \"webkit\", \"revision\": \"2000\", \"installByDefault\": true},\n" +
+      "  {\"name\": \"ffmpeg\", \"revision\": \"3000\", \"installByDefault\": false}\n" +
+      "]}";
+    assertEquals(BROWSERS_PATH.resolve("chromium-1000") + "\n" + BROWSERS_PATH.resolve("webkit-2000"),
+      DriverJar.expectedBrowserDirs(json, BROWSERS_PATH));
+  }
+
+  @Test
+  void shouldNotSkipInstallWhenEntryCannotBeParsed() {
+    String json = "{\"browsers\": [\n" +
+      "  {\"name\": \"chromium\", \"revision\": \"1000\", \"installByDefault\": true},\n" +
+      "  {\"name\": \"webkit\", \"revision\": \"2000\", \"installByDefault\": true,\n" +
+      "   \"revisionOverrides\": {\"mac10.14\": \"1446\"}}\n" +
+      "]}";
+    assertNull(DriverJar.expectedBrowserDirs(json, BROWSERS_PATH));
+  }
+}
@@ -18,6 +18,10 @@ package com.microsoft.playwright.impl;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class provides access to playwright-cli. It can be either preinstalled
@@ -25,7 +29,10 @@ import java.nio.file.Paths;
  * loaded from the driver-bundle module if that module is in the classpath.
  */
 public abstract class Driver {
+  private static final ReentrantLock lock = new ReentrantLock();
   private static Driver instance;
+  // Duration of the driver installation steps, in the order they ran.
+  private final Map<String, Long> startupTimings = Collections.synchronizedMap(new LinkedHashMap<>());
 
   private static class PreinstalledDriver extends Driver {
     private final Path driverDir;
@@ -38,16 +45,50 @@ public abstract class Driver {
     }
   }
 
-  public static synchronized Path ensureDriverInstalled() {
-    if (instance == null) {
-      try {
-        instance = createDriver();
-      } catch (Exception exception) {
-        throw new RuntimeException("Failed to create driver", exception);
+  public static Path ensureDriverInstalled() {
+    // Not synchronized: installation can take minutes and a virtual thread blocked in a
+    // synchronized method would pin its carrier thread.
+    lock.lock();
+    try {
+      if (instance == null) {
+        try {
+          instance = createDriver();
+        } catch (Exception exception) {
+          throw new RuntimeException("Failed to create driver", exception);
+        }
       }
+      String name = instance.cliFileName();
+      return instance.driverDir().resolve(name);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Time in milliseconds spent in each step of the driver installation, e.g. extraction and browser check,
+   * empty if the driver has not been installed yet.
+   */
+  public static Map<String, Long> startupTimingsMillis() {
+    lock.lock();
+    try {
+      if (instance == null) {
+        return Collections.emptyMap();
+      }
+      synchronized (instance.startupTimings) {
+        return new LinkedHashMap<>(instance.startupTimings);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void recordTiming(String step, long startNanos) {
+    long millis = (System.nanoTime() - startNanos) / 1_000_000;
+    startupTimings.put(step, millis);
+    String debug = System.getenv("DEBUG");
+    if (debug != null && debug.contains("pw:install")) {
+      System.err.println("pw:install " + step + " took " + millis + "ms");
     }
-    String name = instance.cliFileName();
-    return instance.driverDir().resolve(name);
   }
 
   protected String cliFileName() {
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.BrowserContextPoolImpl;
+
+/**
+ * Keeps browser contexts created in advance so that a task gets an isolated context without waiting for {@link
+ * Browser#newContext Browser.newContext()}. Contexts are pooled separately for each distinct set of {@code
+ * NewContextOptions}, the first request for a new set of options creates the context synchronously and starts
+ * preparing more in the background.
+ * <pre>{@code
+ * BrowserContextPool pool = BrowserContextPool.create(browser, new BrowserContextPool.Options().withSize(4));
+ * BrowserContext context = pool.acquire(new Browser.NewContextOptions().withLocale("de-DE"));
+ * try {
+ *   context.newPage().navigate("https://example.com");
+ *   pool.release(context);
+ * } catch (PlaywrightException e) {
+ *   pool.discard(context);
+ * }
+ * }</pre>
+ */
+public interface BrowserContextPool extends AutoCloseable {
+  enum ReturnPolicy {
+    /**
+     * Close returned contexts and create fresh ones in the background. Guarantees full isolation.
+     */
+    RECREATE,
+    /**
+     * Close pages, remove routes and listeners, clear cookies and permissions, then reuse the context. Faster but
+     * doesn't clear other state such as local storage, extra HTTP headers, geolocation or offline mode.
+     */
+    RESET
+  }
+
+  class Options {
+    /**
+     * Number of contexts kept ready for each set of options. Defaults to 2.
+     */
+    public Integer size;
+    /**
+     * What happens to the released contexts. Defaults to {@code RECREATE}.
+     */
+    public ReturnPolicy returnPolicy;
+
+    public Options withSize(int size) {
+      this.size = size;
+      return this;
+    }
+    public Options withReturnPolicy(ReturnPolicy returnPolicy) {
+      this.returnPolicy = returnPolicy;
+      return this;
+    }
+  }
+
+  default BrowserContext acquire() {
+    return acquire(null);
+  }
+  /**
+   * Returns a ready context created with the given options, creating one if none is available.
+   */
+  BrowserContext acquire(Browser.NewContextOptions options);
+  /**
+   * Gives the context back to the pool to be recycled according to {@link Options#returnPolicy}.
+   */
+  void release(BrowserContext context);
+  /**
+   * Closes the context instead of recycling it, e.g. after it hit an error.
+   */
+  void discard(BrowserContext context);
+  /**
+   * Number of contexts ready to be handed out, for all options.
+   */
+  int idleCount();
+  /**
+   * Average time {@link #acquire acquire()} took to return a context.
+   */
+  double averageAcquireMillis();
+  /**
+   * Closes idle contexts and stops preparing new ones. Contexts that are in use are closed when released.
+   */
+  void close();
+
+  static BrowserContextPool create(Browser browser) {
+    return create(browser, null);
+  }
+
+  static BrowserContextPool create(Browser browser, Options options) {
+    return new BrowserContextPoolImpl(browser, options);
+  }
+}
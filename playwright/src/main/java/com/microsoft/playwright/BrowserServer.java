@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.BrowserServerImpl;
+
+/**
+ * Browser launched by the local Playwright driver and served over a web socket, clients attach to it with {@link
+ * BrowserType#connect BrowserType.connect()}.
+ * <pre>{@code
+ * try (BrowserServer server = BrowserServer.shared("chromium")) {
+ *   Browser browser = playwright.chromium().connect(server.wsEndpoint());
+ *   ...
+ * }
+ * }</pre>
+ */
+public interface BrowserServer extends AutoCloseable {
+  /**
+   * Web socket endpoint to pass to {@link BrowserType#connect BrowserType.connect()}.
+   */
+  String wsEndpoint();
+  /**
+   * Releases this reference. The server is stopped once no references are left.
+   */
+  void close();
+
+  /**
+   * Launches a new server that is stopped when this instance is closed.
+   *
+   * @param browserName {@code "chromium"}, {@code "firefox"} or {@code "webkit"}.
+   */
+  static BrowserServer launch(String browserName) {
+    return BrowserServerImpl.launch(browserName);
+  }
+
+  /**
+   * Returns a reference to the server of the given browser shared by all threads and processes on this host, launching
+   * it if it is not running. Each call takes a reference that must be closed, the server is stopped when the last
+   * reference is closed. The server is stopped when the JVM that launched it exits, other processes launch a new one on
+   * their next call.
+   *
+   * <p> Servers are registered in the directory given by the {@code playwright.browserServer.dir} system property, by
+   * default {@code playwright-browser-servers} in the temporary directory.
+   *
+   * @param browserName {@code "chromium"}, {@code "firefox"} or {@code "webkit"}.
+   */
+  static BrowserServer shared(String browserName) {
+    return BrowserServerImpl.shared(browserName);
+  }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Publishes page or browser context events to subscribers that consume them at their own pace. Each subscription
+ * buffers up to {@link Options#bufferSize} events and delivers them on {@link Options#executor} only as far as the
+ * subscriber has requested, so a slow subscriber doesn't hold up message dispatch. When the buffer is full the {@link
+ * OverflowPolicy} decides whether events are dropped or dispatch waits for the subscriber.
+ *
+ * <p> The interfaces mirror {@code java.util.concurrent.Flow} which is not available on Java 8, on Java 9+ they can be
+ * adapted with a method reference.
+ * <pre>{@code
+ * EventPublisher<Request> requests = EventPublisher.forRequests(page, new EventPublisher.Options().withBufferSize(1000));
+ * requests.subscribe(new EventPublisher.Subscriber<Request>() {
+ *   private EventPublisher.Subscription subscription;
+ *   public void onSubscribe(EventPublisher.Subscription subscription) {
+ *     this.subscription = subscription;
+ *     subscription.request(1);
+ *   }
+ *   public void onNext(Request request) {
+ *     store(request.url());
+ *     subscription.request(1);
+ *   }
+ *   public void onError(Throwable throwable) {}
+ *   public void onComplete() {}
+ * });
+ * }</pre>
+ */
+public class EventPublisher<T> {
+  public enum OverflowPolicy {
+    /**
+     * Discard the event that doesn't fit into the buffer.
+     */
+    DROP_NEWEST,
+    /**
+     * Discard the oldest buffered event to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Block the dispatch thread until the subscriber catches up. No other events or replies are dispatched while it is
+     * blocked, so a subscriber that calls Playwright from {@code onNext} (or from a thread that {@code onNext} waits
+     * for) deadlocks. Use it only with subscribers that don't call back into Playwright.
+     */
+    BLOCK
+  }
+
+  public interface Subscriber<T> {
+    void onSubscribe(Subscription subscription);
+    void onNext(T item);
+    void onError(Throwable throwable);
+    void onComplete();
+  }
+
+  public interface Subscription {
+    void request(long n);
+    void cancel();
+    /**
+     * Number of events discarded so far because the buffer was full.
+     */
+    long droppedCount();
+  }
+
+  public static class Options {
+    /**
+     * Maximum number of events buffered per subscriber. Defaults to 256.
+     */
+    public Integer bufferSize;
+    /**
+     * What to do when a subscriber's buffer is full. Defaults to {@code DROP_NEWEST}.
+     */
+    public OverflowPolicy overflowPolicy;
+    /**
+     * Executor that calls subscriber methods. Defaults to {@link ForkJoinPool#commonPool()}.
+     */
+    public Executor executor;
+
+    public Options withBufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+    public Options withOverflowPolicy(OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+    public Options withExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+  }
+
+  private final Consumer<Consumer<T>> addListener;
+  private final Consumer<Consumer<T>> removeListener;
+  private final Consumer<Runnable> addCloseListener;
+  private final Consumer<Runnable> removeCloseListener;
+  private final int bufferSize;
+  private final OverflowPolicy overflowPolicy;
+  private final Executor executor;
+
+  private EventPublisher(Consumer<Consumer<T>> addListener, Consumer<Consumer<T>> removeListener,
+                         Consumer<Runnable> addCloseListener, Consumer<Runnable> removeCloseListener, Options options) {
+    if (options == null) {
+      options = new Options();
+    }
+    this.addListener = addListener;
+    this.removeListener = removeListener;
+    this.addCloseListener = addCloseListener;
+    this.removeCloseListener = removeCloseListener;
+    this.bufferSize = options.bufferSize == null ? 256 : options.bufferSize;
+    if (bufferSize <= 0) {
+      throw new PlaywrightException("bufferSize must be positive, found: " + bufferSize);
+    }
+    this.overflowPolicy = options.overflowPolicy == null ? OverflowPolicy.DROP_NEWEST : options.overflowPolicy;
+    this.executor = options.executor == null ? ForkJoinPool.commonPool() : options.executor;
+  }
+
+  private static <T> EventPublisher<T> forPage(Page page, Consumer<Consumer<T>> addListener,
+                                               Consumer<Consumer<T>> removeListener, Options options) {
+    return new EventPublisher<>(addListener, removeListener,
+      onClose -> page.onClose(new CloseListener<>(onClose)),
+      onClose -> page.offClose(new CloseListener<>(onClose)), options);
+  }
+
+  public static EventPublisher<Request> forRequests(Page page, Options options) {
+    return forPage(page, page::onRequest, page::offRequest, options);
+  }
+
+  public static EventPublisher<Request> forRequestsFinished(Page page, Options options) {
+    return forPage(page, page::onRequestFinished, page::offRequestFinished, options);
+  }
+
+  public static EventPublisher<Request> forRequestsFailed(Page page, Options options) {
+    return forPage(page, page::onRequestFailed, page::offRequestFailed, options);
+  }
+
+  public static EventPublisher<Response> forResponses(Page page, Options options) {
+    return forPage(page, page::onResponse, page::offResponse, options);
+  }
+
+  public static EventPublisher<ConsoleMessage> forConsoleMessages(Page page, Options options) {
+    return forPage(page, page::onConsoleMessage, page::offConsoleMessage, options);
+  }
+
+  public static EventPublisher<Page> forPages(BrowserContext context, Options options) {
+    return new EventPublisher<>(context::onPage, context::offPage,
+      onClose -> context.onClose(new CloseListener<>(onClose)),
+      onClose -> context.offClose(new CloseListener<>(onClose)), options);
+  }
+
+  public void subscribe(Subscriber<? super T> subscriber) {
+    SubscriptionImpl subscription = new SubscriptionImpl(subscriber);
+    // Register before onSubscribe so that a subscriber cancelling from onSubscribe is removed again. Nothing is
+    // delivered until onSubscribe has returned.
+    addListener.accept(subscription);
+    addCloseListener.accept(subscription.onSourceClosed);
+    subscriber.onSubscribe(subscription);
+    subscription.subscribed();
+  }
+
+  // Adapts close runnable to a listener that can also be found again on removal.
+  private static class CloseListener<S> implements Consumer<S> {
+    private final Runnable onClose;
+
+    CloseListener(Runnable onClose) {
+      this.onClose = onClose;
+    }
+
+    @Override
+    public void accept(S source) {
+      onClose.run();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CloseListener && ((CloseListener<?>) o).onClose == onClose;
+    }
+
+    @Override
+    public int hashCode() {
+      return onClose.hashCode();
+    }
+  }
+
+  private class SubscriptionImpl implements Subscription, Consumer<T> {
+    private final Subscriber<? super T> subscriber;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<T> buffer = new ArrayDeque<>();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private final Runnable onSourceClosed = this::sourceClosed;
+    private long demand;
+    private long dropped;
+    private boolean isSubscribed;
+    private boolean isSourceClosed;
+    private boolean isTerminated;
+    // Delivered by drain so that onError never overlaps onNext.
+    private Throwable error;
+
+    SubscriptionImpl(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    // Called on the dispatch thread.
+    @Override
+    public void accept(T item) {
+      lock.lock();
+      try {
+        if (isTerminated) {
+          return;
+        }
+        if (buffer.size() >= bufferSize) {
+          switch (overflowPolicy) {
+            case DROP_NEWEST:
+              ++dropped;
+              return;
+            case DROP_OLDEST:
+              buffer.poll();
+              ++dropped;
+              break;
+            case BLOCK:
+              while (buffer.size() >= bufferSize && !isTerminated) {
+                try {
+                  notFull.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  ++dropped;
+                  return;
+                }
+              }
+              if (isTerminated) {
+                return;
+              }
+              break;
+          }
+        }
+        buffer.add(item);
+      } finally {
+        lock.unlock();
+      }
+      scheduleDrain();
+    }
+
+    void subscribed() {
+      lock.lock();
+      try {
+        isSubscribed = true;
+      } finally {
+        lock.unlock();
+      }
+      scheduleDrain();
+    }
+
+    private void sourceClosed() {
+      lock.lock();
+      try {
+        isSourceClosed = true;
+      } finally {
+        lock.unlock();
+      }
+      unsubscribe();
+      scheduleDrain();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        lock.lock();
+        try {
+          if (!isTerminated) {
+            error = new IllegalArgumentException("Requested number of events must be positive, found: " + n);
+          }
+        } finally {
+          lock.unlock();
+        }
+        cancel();
+        scheduleDrain();
+        return;
+      }
+      lock.lock();
+      try {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+      } finally {
+        lock.unlock();
+      }
+      scheduleDrain();
+    }
+
+    @Override
+    public void cancel() {
+      terminate();
+      unsubscribe();
+    }
+
+    @Override
+    public long droppedCount() {
+      lock.lock();
+      try {
+        return dropped;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void terminate() {
+      lock.lock();
+      try {
+        isTerminated = true;
+        buffer.clear();
+        notFull.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void unsubscribe() {
+      removeListener.accept(this);
+      removeCloseListener.accept(onSourceClosed);
+    }
+
+    private void scheduleDrain() {
+      if (pendingDrains.getAndIncrement() == 0) {
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      int missed = 1;
+      do {
+        while (true) {
+          T item;
+          boolean complete = false;
+          Throwable failure = null;
+          lock.lock();
+          try {
+            if (isTerminated) {
+              failure = error;
+              error = null;
+            }
+          } finally {
+            lock.unlock();
+          }
+          if (failure != null) {
+            subscriber.onError(failure);
+          }
+          lock.lock();
+          try {
+            if (isTerminated || !isSubscribed) {
+              break;
+            }
+            if (buffer.isEmpty()) {
+              if (isSourceClosed) {
+                isTerminated = true;
+                complete = true;
+              }
+              item = null;
+            } else if (demand > 0) {
+              item = buffer.poll();
+              --demand;
+              notFull.signal();
+            } else {
+              item = null;
+            }
+          } finally {
+            lock.unlock();
+          }
+          if (complete) {
+            subscriber.onComplete();
+            return;
+          }
+          if (item == null) {
+            break;
+          }
+          try {
+            subscriber.onNext(item);
+          } catch (Throwable e) {
+            cancel();
+            subscriber.onError(e);
+            return;
+          }
+        }
+        missed = pendingDrains.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PagePoolImpl;
+
+import java.time.Duration;
+
+/**
+ * Reuses pages of a browser context instead of closing them. A released page has its listeners, routes and default
+ * timeouts removed and is navigated to {@code about:blank}. The pool grows with demand, pages that stay idle longer than
+ * {@link Options#idleTimeout} are closed, and each page is retired after {@link Options#maxUses} uses. Pages with
+ * exposed bindings or init scripts can't be reset and are closed on release. Other page state such as viewport size, extra HTTP headers
+ * or emulated media is kept, pages that changed it should be discarded.
+ * <pre>{@code
+ * PagePool pool = PagePool.create(context);
+ * Page page = pool.acquire();
+ * page.navigate(url);
+ * pool.release(page);
+ * }</pre>
+ */
+public interface PagePool extends AutoCloseable {
+  class Options {
+    /**
+     * Number of times a page is handed out before it is closed. Defaults to 50.
+     */
+    public Integer maxUses;
+    /**
+     * How long a page stays in the pool unused before it is closed. Defaults to 30 seconds.
+     */
+    public Duration idleTimeout;
+
+    public Options withMaxUses(int maxUses) {
+      this.maxUses = maxUses;
+      return this;
+    }
+    public Options withIdleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+  }
+
+  /**
+   * Returns an idle page or creates a new one.
+   */
+  Page acquire();
+  /**
+   * Resets the page and returns it to the pool, closes it if it can't be reused.
+   */
+  void release(Page page);
+  /**
+   * Closes the page instead of returning it to the pool, e.g. after it hit an error.
+   */
+  void discard(Page page);
+  int idleCount();
+  int leasedCount();
+  /**
+   * Number of pages created so far, compared to the number of {@link #acquire acquire()} calls it shows how well pages
+   * are reused.
+   */
+  long createdCount();
+  /**
+   * Closes idle pages. Pages that are in use are closed when released.
+   */
+  void close();
+
+  static PagePool create(BrowserContext context) {
+    return create(context, null);
+  }
+
+  static PagePool create(BrowserContext context, Options options) {
+    return new PagePoolImpl(context, options);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PageWorkQueueImpl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Runs page tasks on a fixed number of worker pages spread across the given browsers. Each worker owns its own browser
+ * context and page and processes one task at a time. Tasks for the same host are capped by {@link Options#maxPerHost},
+ * tasks that fail because their page, context or browser went away are retried on a fresh context.
+ * <pre>{@code
+ * try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), new PageWorkQueue.Options().withWorkers(8).withMaxPerHost(2))) {
+ *   List<CompletableFuture<String>> titles = new ArrayList<>();
+ *   for (String url : urls) {
+ *     titles.add(queue.submit(url, Page::title));
+ *   }
+ *   for (CompletableFuture<String> title : titles) {
+ *     System.out.println(title.join());
+ *   }
+ * }
+ * }</pre>
+ */
+public interface PageWorkQueue extends AutoCloseable {
+  class Options {
+    /**
+     * Number of pages processing tasks concurrently. Defaults to 4.
+     */
+    public Integer workers;
+    /**
+     * Maximum number of tasks running concurrently for one host. Unlimited by default.
+     */
+    public Integer maxPerHost;
+    /**
+     * How many times a task is retried after its page, context or browser has been closed. Defaults to 2.
+     */
+    public Integer maxRetries;
+    /**
+     * Default navigation timeout of the worker pages in milliseconds, see {@link Page#setDefaultNavigationTimeout
+     * Page.setDefaultNavigationTimeout()}.
+     */
+    public Double navigationTimeout;
+    /**
+     * Options of the worker contexts.
+     */
+    public Browser.NewContextOptions contextOptions;
+
+    public Options withWorkers(int workers) {
+      this.workers = workers;
+      return this;
+    }
+    public Options withMaxPerHost(int maxPerHost) {
+      this.maxPerHost = maxPerHost;
+      return this;
+    }
+    public Options withMaxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+    public Options withNavigationTimeout(double navigationTimeout) {
+      this.navigationTimeout = navigationTimeout;
+      return this;
+    }
+    public Options withContextOptions(Browser.NewContextOptions contextOptions) {
+      this.contextOptions = contextOptions;
+      return this;
+    }
+  }
+
+  /**
+   * Queues a task that navigates a worker page to the url and then calls {@code task} with the page. If url is {@code
+   * null} the task is called without navigation and is not subject to the per host limit.
+   *
+   * @return future that completes with the task result in the order tasks finish.
+   */
+  <T> CompletableFuture<T> submit(String url, Function<Page, T> task);
+  /**
+   * Number of tasks waiting for a worker.
+   */
+  int pendingCount();
+  long completedCount();
+  long failedCount();
+  long retriedCount();
+  /**
+   * Average time from submission to completion of the completed tasks.
+   */
+  double averageLatencyMillis();
+  /**
+   * Completed tasks per second since the queue was created.
+   */
+  double throughputPerSecond();
+  /**
+   * Fails pending tasks, waits for running ones and closes worker contexts.
+   */
+  void close();
+
+  static PageWorkQueue create(List<Browser> browsers) {
+    return create(browsers, null);
+  }
+
+  static PageWorkQueue create(List<Browser> browsers, Options options) {
+    return new PageWorkQueueImpl(browsers, options);
+  }
+}
@@ -40,6 +40,22 @@ import java.util.*;
  * }</pre>
  */
 public interface Playwright extends AutoCloseable {
+  class CreateOptions {
+    /**
+     * Browsers to launch in the background as soon as the driver has started, keyed by browser type name ({@code
+     * "chromium"}, {@code "firefox"} or {@code "webkit"}). The first {@link BrowserType#launch BrowserType.launch()}
+     * call with equal options returns the pre-launched browser, waiting for it if the launch is still in progress.
+     */
+    public Map<String, BrowserType.LaunchOptions> prelaunch;
+
+    public CreateOptions withPrelaunch(String browserType, BrowserType.LaunchOptions options) {
+      if (prelaunch == null) {
+        prelaunch = new LinkedHashMap<>();
+      }
+      prelaunch.put(browserType, options == null ? new BrowserType.LaunchOptions() : options);
+      return this;
+    }
+  }
   /**
    * This object can be used to launch or connect to Chromium, returning instances of {@code ChromiumBrowser}.
    */
@@ -73,7 +89,19 @@ public interface Playwright extends AutoCloseable {
    * }</pre>
    */
   static Playwright create() {
-    return PlaywrightImpl.create();
+    return create(null);
+  }
+  /**
+   * Same as {@link #create()} but allows to warm up browsers while the caller is initializing.
+   * <pre>{@code
+   * Playwright playwright = Playwright.create(new Playwright.CreateOptions()
+   *   .withPrelaunch("chromium", new BrowserType.LaunchOptions().withHeadless(true)));
+   * // ... other initialization ...
+   * Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().withHeadless(true));
+   * }</pre>
+   */
+  static Playwright create(CreateOptions options) {
+    return PlaywrightImpl.create(options);
   }
 }
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PlaywrightClusterImpl;
+
+import java.util.List;
+
+/**
+ * Spreads browsers and contexts over several Playwright driver processes (shards), so that a single driver doesn't
+ * become the bottleneck when one JVM drives hundreds of pages. New browsers and contexts are placed on the shard with
+ * the lowest load, a shard whose driver process has exited is restarted in the background while the other shards keep
+ * working. Browsers and contexts that lived on the crashed shard are lost.
+ * <pre>{@code
+ * try (PlaywrightCluster cluster = PlaywrightCluster.create(new PlaywrightCluster.Options().withShards(4))) {
+ *   BrowserContext context = cluster.newContext();
+ *   context.newPage().navigate("https://example.com");
+ *   context.close();
+ * }
+ * }</pre>
+ */
+public interface PlaywrightCluster extends AutoCloseable {
+  class Options {
+    /**
+     * Number of driver processes. Defaults to the number of available processors.
+     */
+    public Integer shards;
+    /**
+     * Browser type used by {@link #launch()} and {@link #newContext newContext()}: {@code "chromium"}, {@code
+     * "firefox"} or {@code "webkit"}. Defaults to {@code "chromium"}.
+     */
+    public String browserType;
+    /**
+     * Options used by {@link #launch()} and {@link #newContext newContext()} to launch browsers.
+     */
+    public BrowserType.LaunchOptions launchOptions;
+
+    public Options withShards(int shards) {
+      this.shards = shards;
+      return this;
+    }
+    public Options withBrowserType(String browserType) {
+      this.browserType = browserType;
+      return this;
+    }
+    public Options withLaunchOptions(BrowserType.LaunchOptions launchOptions) {
+      this.launchOptions = launchOptions;
+      return this;
+    }
+  }
+
+  class ShardStats {
+    public int index;
+    public boolean isRunning;
+    public int browsers;
+    public int contexts;
+    public int pages;
+    public int inFlightCalls;
+    /**
+     * Number of times the driver process of this shard has been restarted.
+     */
+    public int restarts;
+    /**
+     * Value used for placement: open contexts, pages and outstanding calls.
+     */
+    public int load;
+  }
+
+  default Browser launch() {
+    return launch(null, null);
+  }
+  /**
+   * Launches a browser on the least loaded shard. {@code null} arguments fall back to {@link Options}.
+   */
+  Browser launch(String browserType, BrowserType.LaunchOptions options);
+  default BrowserContext newContext() {
+    return newContext(null);
+  }
+  /**
+   * Creates a context on the least loaded shard, in a browser shared by all contexts of that shard. The browser is
+   * launched on first use.
+   */
+  BrowserContext newContext(Browser.NewContextOptions options);
+  List<ShardStats> shardStats();
+  /**
+   * Closes all browsers and stops the driver processes.
+   */
+  void close();
+
+  static PlaywrightCluster create() {
+    return create(null);
+  }
+
+  static PlaywrightCluster create(Options options) {
+    return new PlaywrightClusterImpl(options);
+  }
+}
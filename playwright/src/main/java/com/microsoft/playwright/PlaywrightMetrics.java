@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PlaywrightMetricsImpl;
+
+import java.util.Map;
+
+/**
+ * Runtime counters of a Playwright instance and its driver connection, for monitoring.
+ * <pre>{@code
+ * PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+ * System.out.println("pending timers: " + metrics.pendingTimers());
+ * }</pre>
+ */
+public interface PlaywrightMetrics {
+  /**
+   * Priority classes of the messages sent to the driver.
+   */
+  enum Priority {
+    /**
+     * Replies the browser is blocked on: route decisions, dialogs and bindings.
+     */
+    URGENT,
+    INTERACTIVE,
+    /**
+     * Calls that transfer large payloads, e.g. screenshots and pdfs.
+     */
+    BULK
+  }
+
+  /**
+   * Number of timeouts waiting to expire, shared by all Playwright instances in the process.
+   */
+  int pendingTimers();
+
+  /**
+   * Number of messages of the given priority waiting to be written to the driver.
+   */
+  int outgoingQueueLength(Priority priority);
+
+  /**
+   * Average time messages of the given priority spent waiting to be written to the driver.
+   */
+  double averageOutgoingWaitMillis(Priority priority);
+
+  /**
+   * Number of calls sent to the driver and waiting for the reply.
+   */
+  int inFlightCalls();
+
+  /**
+   * How long the oldest call in flight has been waiting for its reply, 0 if there are none. A
+   * steadily growing value indicates a stuck call.
+   */
+  long oldestInFlightCallAgeMillis();
+
+  /**
+   * Number of calls held back by the playwright.maxInFlightCalls and
+   * playwright.maxInFlightCallsPerPage limits, always 0 when no limit is set.
+   */
+  int callsWaitingForAdmission();
+
+  /**
+   * Average time spent waiting for admission by the calls that had to wait.
+   */
+  double averageAdmissionWaitMillis();
+
+  /**
+   * Longest time a call has spent waiting for admission.
+   */
+  double maxAdmissionWaitMillis();
+
+  /**
+   * Number of objects tracked on the client side, by protocol type (e.g. "Request").
+   */
+  Map<String, Integer> liveObjectCounts();
+
+  /**
+   * Number of events waiting to be delivered to the listeners of the page, always 0 unless
+   * playwright.listenerThreads is set. A growing value means the listeners can't keep up.
+   */
+  int listenerQueueLength(Page page);
+
+  static PlaywrightMetrics of(Playwright playwright) {
+    return new PlaywrightMetricsImpl(playwright);
+  }
+}
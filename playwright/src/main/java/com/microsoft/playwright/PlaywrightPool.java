@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PlaywrightPoolImpl;
+
+import java.time.Duration;
+
+/**
+ * Keeps a number of started Playwright driver processes ready to be handed out, so that tasks don't pay for the driver
+ * startup. Instances are checked on the way out and on the way back, and replaced in the background once they reach
+ * {@link Options#maxUses} or {@link Options#maxAge}. A borrower must close the browsers it launched before releasing
+ * the instance.
+ * <pre>{@code
+ * PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.Options().withSize(4).withMaxUses(100));
+ * Playwright playwright = pool.acquire();
+ * try (Browser browser = playwright.chromium().launch()) {
+ *   ...
+ * } finally {
+ *   pool.release(playwright);
+ * }
+ * }</pre>
+ */
+public interface PlaywrightPool extends AutoCloseable {
+  class Options {
+    /**
+     * Number of driver processes kept by the pool. Defaults to 2.
+     */
+    public Integer size;
+    /**
+     * Number of times an instance is handed out before it is replaced. Unlimited by default.
+     */
+    public Integer maxUses;
+    /**
+     * How long an instance is used before it is replaced. Unlimited by default.
+     */
+    public Duration maxAge;
+
+    public Options withSize(int size) {
+      this.size = size;
+      return this;
+    }
+    public Options withMaxUses(int maxUses) {
+      this.maxUses = maxUses;
+      return this;
+    }
+    public Options withMaxAge(Duration maxAge) {
+      this.maxAge = maxAge;
+      return this;
+    }
+  }
+
+  /**
+   * Returns a started Playwright instance, waiting for one to become available if all are in use.
+   */
+  Playwright acquire();
+  /**
+   * Returns the instance to the pool. It is replaced if it has been used up or its driver is no longer running.
+   */
+  void release(Playwright playwright);
+  int idleCount();
+  int leasedCount();
+  /**
+   * Number of instances replaced so far because they were used up or their driver stopped.
+   */
+  long recycledCount();
+  double averageWaitMillis();
+  double maxWaitMillis();
+  /**
+   * Closes idle instances and cancels pending starts, instances that are in use are closed when released.
+   */
+  void close();
+
+  static PlaywrightPool create() {
+    return create(null);
+  }
+
+  static PlaywrightPool create(Options options) {
+    return new PlaywrightPoolImpl(options);
+  }
+}
@@ -22,10 +22,12 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Frame;
 import com.microsoft.playwright.JSHandle;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.options.BindingCallback;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static com.microsoft.playwright.impl.Serialization.*;
 
@@ -61,7 +63,34 @@ class BindingCall extends ChannelOwner {
     return initializer.get("name").getAsString();
   }
 
+  // Bindings run on a per-connection pool of playwright.bindingThreads threads when the
+  // property is set, otherwise inline on the dispatch thread.
+  static ExecutorService createExecutor() {
+    String threads = System.getProperty("playwright.bindingThreads");
+    if (threads == null) {
+      return null;
+    }
+    return Utils.newDaemonThreadPool(Integer.parseInt(threads), "Playwright-Binding");
+  }
+
   void call(BindingCallback binding) {
+    ExecutorService executor = connection.bindingPool;
+    if (executor == null) {
+      invoke(binding, false);
+      return;
+    }
+    // The result is sent without waiting for the reply so that the pool thread is free for
+    // the next call right away.
+    executor.execute(() -> {
+      try {
+        invoke(binding, true);
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+    });
+  }
+
+  private void invoke(BindingCallback binding, boolean async) {
     try {
       Frame frame = connection.getExistingObject(initializer.getAsJsonObject("frame").get("guid").getAsString());
       BindingCallback.Source source = new SourceImpl(frame);
@@ -78,11 +107,29 @@ class BindingCall extends ChannelOwner {
 
       JsonObject params = new JsonObject();
       params.add("result", gson().toJsonTree(serializeArgument(result)));
-      sendMessage("resolve", params);
+      sendResult("resolve", params, async);
     } catch (RuntimeException exception) {
       JsonObject params = new JsonObject();
       params.add("error", gson().toJsonTree(serializeError(exception)));
-      sendMessage("reject", params);
+      sendResult("reject", params, async);
+    }
+  }
+
+  private void sendResult(String method, JsonObject params, boolean async) {
+    if (async) {
+      // Nobody waits for the reply, report failures here rather than dropping them.
+      WaitableResult<JsonElement> result = sendMessageAsync(method, params);
+      result.onDone(() -> {
+        try {
+          result.get();
+        } catch (PlaywrightException e) {
+          if (!Utils.isSafeCloseError(e)) {
+            e.printStackTrace();
+          }
+        }
+      });
+    } else {
+      sendMessage(method, params);
     }
   }
 }
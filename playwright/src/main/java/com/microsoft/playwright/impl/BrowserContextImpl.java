@@ -26,6 +26,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -39,14 +41,15 @@ import static java.util.Collections.emptyList;
 
 class BrowserContextImpl extends ChannelOwner implements BrowserContext {
   private final BrowserImpl browser;
-  final List<PageImpl> pages = new ArrayList<>();
+  final List<PageImpl> pages = new CopyOnWriteArrayList<>();
   final Router routes = new Router();
   private boolean isClosedOrClosing;
-  final Map<String, BindingCallback> bindings = new HashMap<>();
+  final Map<String, BindingCallback> bindings = new ConcurrentHashMap<>();
   PageImpl ownerPage;
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
   final TimeoutSettings timeoutSettings = new TimeoutSettings();
   Path videosDir;
+  ResponseCache responseCache;
 
   enum EventType {
     CLOSE,
@@ -268,7 +271,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
   private void route(UrlMatcher matcher, Consumer<Route> handler) {
     withLogging("BrowserContext.route", () -> {
       routes.add(matcher, handler);
-      if (routes.size() == 1) {
+      if (routes.size() == 1 && responseCache == null) {
         JsonObject params = new JsonObject();
         params.addProperty("enabled", true);
         sendMessage("setNetworkInterceptionEnabled", params);
@@ -373,7 +376,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
   private void unroute(UrlMatcher matcher, Consumer<Route> handler) {
     withLogging("BrowserContext.unroute", () -> {
       routes.remove(matcher, handler);
-      if (routes.size() == 0) {
+      if (routes.size() == 0 && responseCache == null) {
         JsonObject params = new JsonObject();
         params.addProperty("enabled", false);
         sendMessage("setNetworkInterceptionEnabled", params);
@@ -381,6 +384,57 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
     });
   }
 
+  /**
+   * Brings the context back to a clean state so that a pool can hand it out again: closes
+   * pages, removes routes, listeners and default timeouts, clears cookies and permissions.
+   * Returns false if the context can't be reused, e.g. bindings can't be removed.
+   */
+  boolean resetForReuse() {
+    if (isClosedOrClosing || !bindings.isEmpty()) {
+      return false;
+    }
+    for (PageImpl page : new ArrayList<>(pages)) {
+      page.close();
+    }
+    if (routes.size() != 0) {
+      routes.clear();
+      if (responseCache == null) {
+        JsonObject params = new JsonObject();
+        params.addProperty("enabled", false);
+        sendMessage("setNetworkInterceptionEnabled", params);
+      }
+    }
+    listeners.clear();
+    timeoutSettings.reset();
+    sendMessage("clearCookies");
+    sendMessage("clearPermissions");
+    return true;
+  }
+
+  boolean isClosedOrClosing() {
+    return isClosedOrClosing;
+  }
+
+  void enableResponseCacheIfConfigured() {
+    ResponseCacheStore store = ResponseCacheStore.fromSystemProperties();
+    if (store == null) {
+      return;
+    }
+    responseCache = new ResponseCache(store);
+    if (routes.size() == 0) {
+      JsonObject params = new JsonObject();
+      params.addProperty("enabled", true);
+      sendMessage("setNetworkInterceptionEnabled", params);
+    }
+  }
+
+  void resumeUnhandledRoute(Route route) {
+    if (responseCache != null && responseCache.handle(route)) {
+      return;
+    }
+    route.resume();
+  }
+
   void pause() {
     sendMessage("pause");
   }
@@ -391,7 +445,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
       Route route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
       boolean handled = routes.handle(route);
       if (!handled) {
-        route.resume();
+        resumeUnhandledRoute(route);
       }
     } else if ("page".equals(event)) {
       PageImpl page = connection.getExistingObject(params.getAsJsonObject("page").get("guid").getAsString());
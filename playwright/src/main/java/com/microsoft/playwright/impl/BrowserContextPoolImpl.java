@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserContextPool;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+import static com.microsoft.playwright.impl.Serialization.gson;
+
+public class BrowserContextPoolImpl implements BrowserContextPool {
+  private final BrowserImpl browser;
+  private final int size;
+  private final ReturnPolicy returnPolicy;
+  // Keyed by the serialized NewContextOptions.
+  private final Map<String, Pool> pools = new HashMap<>();
+  private final Map<BrowserContext, Pool> leased = new IdentityHashMap<>();
+  // Creates, resets and closes contexts off the caller's thread.
+  private final ExecutorService warmer;
+  private long acquiredCount;
+  private long totalAcquireNanos;
+  private boolean isClosed;
+
+  private static class Pool {
+    // Storage state is read once, when the pool is created.
+    final JsonObject params;
+    final Path videosDir;
+    final ArrayDeque<BrowserContextImpl> idle = new ArrayDeque<>();
+    // Contexts being created or reset in the background.
+    int pending;
+    int leased;
+
+    Pool(JsonObject params, Path videosDir) {
+      this.params = params;
+      this.videosDir = videosDir;
+    }
+  }
+
+  public BrowserContextPoolImpl(Browser browser, Options options) {
+    if (options == null) {
+      options = new Options();
+    }
+    this.browser = (BrowserImpl) browser;
+    this.size = options.size == null ? 2 : options.size;
+    if (size < 0) {
+      throw new PlaywrightException("size must not be negative, found: " + size);
+    }
+    this.returnPolicy = options.returnPolicy == null ? ReturnPolicy.RECREATE : options.returnPolicy;
+    warmer = Utils.newDaemonThreadPool(1, "Playwright-ContextPool");
+  }
+
+  @Override
+  public BrowserContext acquire(Browser.NewContextOptions options) {
+    if (options == null) {
+      options = new Browser.NewContextOptions();
+    }
+    long start = System.nanoTime();
+    String fingerprint = gson().toJson(options);
+    Pool pool;
+    BrowserContextImpl context;
+    synchronized (this) {
+      if (isClosed) {
+        throw new PlaywrightException("Pool has been closed");
+      }
+      pool = pools.get(fingerprint);
+      if (pool == null) {
+        pool = new Pool(BrowserImpl.contextParams(options), options.recordVideoDir);
+        pools.put(fingerprint, pool);
+      }
+      do {
+        context = pool.idle.poll();
+      } while (context != null && context.isClosedOrClosing());
+      ++pool.leased;
+      fill(pool);
+    }
+    if (context == null) {
+      try {
+        context = browser.newContext(pool.params, pool.videosDir);
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          --pool.leased;
+        }
+        throw e;
+      }
+    }
+    synchronized (this) {
+      leased.put(context, pool);
+      ++acquiredCount;
+      totalAcquireNanos += System.nanoTime() - start;
+    }
+    return context;
+  }
+
+  @Override
+  public synchronized void release(BrowserContext context) {
+    Pool pool = takeLeased(context);
+    BrowserContextImpl contextImpl = (BrowserContextImpl) context;
+    if (isClosed || returnPolicy == ReturnPolicy.RECREATE) {
+      closeInBackground(pool, contextImpl);
+      return;
+    }
+    ++pool.pending;
+    warmer.execute(() -> {
+      boolean isReset;
+      try {
+        isReset = contextImpl.resetForReuse();
+      } catch (PlaywrightException e) {
+        isReset = false;
+      }
+      synchronized (this) {
+        --pool.pending;
+        // Reused contexts go first, they are what the pool is for.
+        if (isReset && !isClosed && pool.idle.size() < size) {
+          pool.idle.addFirst(contextImpl);
+          return;
+        }
+      }
+      closeQuietly(contextImpl);
+      synchronized (this) {
+        fill(pool);
+      }
+    });
+  }
+
+  @Override
+  public synchronized void discard(BrowserContext context) {
+    closeInBackground(takeLeased(context), (BrowserContextImpl) context);
+  }
+
+  @Override
+  public synchronized int idleCount() {
+    int count = 0;
+    for (Pool pool : pools.values()) {
+      count += pool.idle.size();
+    }
+    return count;
+  }
+
+  @Override
+  public synchronized double averageAcquireMillis() {
+    return acquiredCount == 0 ? 0 : totalAcquireNanos / 1e6 / acquiredCount;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    for (Pool pool : pools.values()) {
+      for (BrowserContextImpl context : pool.idle) {
+        warmer.execute(() -> closeQuietly(context));
+      }
+      pool.idle.clear();
+    }
+    warmer.shutdown();
+  }
+
+  private Pool takeLeased(BrowserContext context) {
+    Pool pool = leased.remove(context);
+    if (pool == null) {
+      throw new PlaywrightException("Context doesn't belong to this pool");
+    }
+    --pool.leased;
+    return pool;
+  }
+
+  private void closeInBackground(Pool pool, BrowserContextImpl context) {
+    if (isClosed) {
+      closeQuietly(context);
+      return;
+    }
+    warmer.execute(() -> closeQuietly(context));
+    fill(pool);
+  }
+
+  // Must be called while holding the lock. Leased contexts that will be reset count against
+  // the size, so that they find a free slot when they come back.
+  private void fill(Pool pool) {
+    int returning = returnPolicy == ReturnPolicy.RESET ? pool.leased : 0;
+    while (!isClosed && pool.idle.size() + pool.pending + returning < size) {
+      ++pool.pending;
+      warmer.execute(() -> create(pool));
+    }
+  }
+
+  private void create(Pool pool) {
+    BrowserContextImpl context;
+    try {
+      context = browser.newContext(pool.params, pool.videosDir);
+    } catch (PlaywrightException e) {
+      // Browser has gone away, acquire will report the error when it creates a context itself.
+      synchronized (this) {
+        --pool.pending;
+      }
+      return;
+    }
+    synchronized (this) {
+      --pool.pending;
+      if (!isClosed && pool.idle.size() < size) {
+        pool.idle.add(context);
+        return;
+      }
+    }
+    closeQuietly(context);
+  }
+
+  private static void closeQuietly(BrowserContextImpl context) {
+    try {
+      context.close();
+    } catch (PlaywrightException e) {
+      // Browser has already gone.
+    }
+  }
+}
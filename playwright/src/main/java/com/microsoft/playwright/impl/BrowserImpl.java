@@ -27,10 +27,11 @@ import com.microsoft.playwright.PlaywrightException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import static com.microsoft.playwright.impl.Serialization.gson;
@@ -38,10 +39,11 @@ import static com.microsoft.playwright.impl.Utils.convertViaJson;
 import static com.microsoft.playwright.impl.Utils.isSafeCloseError;
 
 class BrowserImpl extends ChannelOwner implements Browser {
-  final Set<BrowserContextImpl> contexts = new HashSet<>();
+  // Contexts may be created and closed from several threads, e.g. by pools warming up contexts.
+  final Set<BrowserContextImpl> contexts = ConcurrentHashMap.newKeySet();
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
   public boolean isRemote;
-  private boolean isConnected = true;
+  private volatile boolean isConnected = true;
 
   enum EventType {
     DISCONNECTED,
@@ -115,23 +117,28 @@ class BrowserImpl extends ChannelOwner implements Browser {
     if (options == null) {
       options = new NewContextOptions();
     }
+    return newContext(contextParams(options), options.recordVideoDir);
+  }
+
+  /**
+   * Converts the options into newContext protocol parameters, the result can be reused
+   * to create any number of identical contexts.
+   */
+  static JsonObject contextParams(NewContextOptions options) {
+    String storageStateText = options.storageState;
     if (options.storageStatePath != null) {
       try {
         byte[] bytes = Files.readAllBytes(options.storageStatePath);
-        options.storageState = new String(bytes, StandardCharsets.UTF_8);
-        options.storageStatePath = null;
+        storageStateText = new String(bytes, StandardCharsets.UTF_8);
       } catch (IOException e) {
         throw new PlaywrightException("Failed to read storage state from file", e);
       }
     }
-    JsonObject storageState = null;
-    if (options.storageState != null) {
-      storageState = new Gson().fromJson(options.storageState, JsonObject.class);
-      options.storageState = null;
-    }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
-    if (storageState != null) {
-      params.add("storageState", storageState);
+    params.remove("storageStatePath");
+    params.remove("storageState");
+    if (storageStateText != null) {
+      params.add("storageState", new Gson().fromJson(storageStateText, JsonObject.class));
     }
     if (options.recordHarPath != null) {
       JsonObject recordHar = new JsonObject();
@@ -168,12 +175,17 @@ class BrowserImpl extends ChannelOwner implements Browser {
       }
     }
     params.addProperty("sdkLanguage", "java");
+    return params;
+  }
+
+  BrowserContextImpl newContext(JsonObject params, Path videosDir) {
     JsonElement result = sendMessage("newContext", params);
     BrowserContextImpl context = connection.getExistingObject(result.getAsJsonObject().getAsJsonObject("context").get("guid").getAsString());
-    if (options.recordVideoDir != null) {
-      context.videosDir = options.recordVideoDir;
+    if (videosDir != null) {
+      context.videosDir = videosDir;
     }
     contexts.add(context);
+    context.enableResponseCacheIfConfigured();
     return context;
   }
 
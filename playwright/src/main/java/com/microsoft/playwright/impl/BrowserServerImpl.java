@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.BrowserServer;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.microsoft.playwright.impl.Serialization.gson;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class BrowserServerImpl implements BrowserServer {
+  private static final long WATCH_INTERVAL_MS = 500;
+  private static final long ENDPOINT_TIMEOUT_MS = 60_000;
+  // File locks are held by the whole JVM, this one serializes threads of this JVM.
+  private static final ReentrantLock registryLock = new ReentrantLock();
+
+  private final String browserName;
+  private final String wsEndpoint;
+  // Only set for servers launched with launch().
+  private final Process process;
+  private boolean isClosed;
+
+  // Content of the registry file of a shared server.
+  private static class Registration {
+    String wsEndpoint;
+    int users;
+  }
+
+  private BrowserServerImpl(String browserName, String wsEndpoint, Process process) {
+    this.browserName = browserName;
+    this.wsEndpoint = wsEndpoint;
+    this.process = process;
+  }
+
+  public static BrowserServerImpl launch(String browserName) {
+    Process process = startServer(browserName);
+    return new BrowserServerImpl(browserName, readEndpoint(process), process);
+  }
+
+  public static BrowserServerImpl shared(String browserName) {
+    BrowserServerImpl server = withRegistry(browserName, registryFile -> useRunning(browserName, registryFile));
+    if (server != null) {
+      return server;
+    }
+    // Launch outside of the registry lock, a slow start must not block the other users of the registry.
+    Process process = startServer(browserName);
+    String wsEndpoint = readEndpoint(process);
+    server = withRegistry(browserName, registryFile -> {
+      BrowserServerImpl running = useRunning(browserName, registryFile);
+      if (running != null) {
+        return running;
+      }
+      Registration registration = new Registration();
+      registration.wsEndpoint = wsEndpoint;
+      registration.users = 1;
+      writeRegistration(registryFile, registration);
+      watch(browserName, wsEndpoint, process);
+      return new BrowserServerImpl(browserName, wsEndpoint, null);
+    });
+    if (!wsEndpoint.equals(server.wsEndpoint)) {
+      // Another process has registered its server in the meantime.
+      stop(process);
+    }
+    return server;
+  }
+
+  // Adds a user to the registered server, returns null if there is no running one.
+  private static BrowserServerImpl useRunning(String browserName, Path registryFile) throws IOException {
+    Registration registration = readRegistration(registryFile);
+    if (registration == null || !isReachable(registration.wsEndpoint)) {
+      return null;
+    }
+    ++registration.users;
+    writeRegistration(registryFile, registration);
+    return new BrowserServerImpl(browserName, registration.wsEndpoint, null);
+  }
+
+  @Override
+  public String wsEndpoint() {
+    return wsEndpoint;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+    }
+    if (process != null) {
+      stop(process);
+      return;
+    }
+    withRegistry(browserName, registryFile -> {
+      Registration registration = readRegistration(registryFile);
+      // The server may have been replaced after its owner exited.
+      if (registration != null && wsEndpoint.equals(registration.wsEndpoint)) {
+        --registration.users;
+        writeRegistration(registryFile, registration);
+      }
+      return null;
+    });
+  }
+
+  // Stops the shared server once all its users, in any process, have closed their references.
+  private static void watch(String browserName, String wsEndpoint, Process process) {
+    Thread watcher = new Thread(() -> {
+      while (process.isAlive()) {
+        try {
+          Thread.sleep(WATCH_INTERVAL_MS);
+        } catch (InterruptedException e) {
+          break;
+        }
+        boolean isUnused = withRegistry(browserName, registryFile -> {
+          Registration registration = readRegistration(registryFile);
+          if (registration == null || !wsEndpoint.equals(registration.wsEndpoint)) {
+            return true;
+          }
+          if (registration.users > 0 && process.isAlive()) {
+            return false;
+          }
+          deleteQuietly(registryFile);
+          return true;
+        });
+        if (isUnused) {
+          break;
+        }
+      }
+      stop(process);
+    }, "Playwright-BrowserServerWatcher");
+    watcher.setDaemon(true);
+    watcher.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      process.destroy();
+      // Best effort, the other processes will notice that the endpoint is gone anyway.
+      Path registryFile = registryDir().resolve(browserName + ".json");
+      Registration registration = readRegistration(registryFile);
+      if (registration != null && wsEndpoint.equals(registration.wsEndpoint)) {
+        deleteQuietly(registryFile);
+      }
+    }));
+  }
+
+  private interface RegistryAction<T> {
+    T run(Path registryFile) throws IOException;
+  }
+
+  private static <T> T withRegistry(String browserName, RegistryAction<T> action) {
+    registryLock.lock();
+    try {
+      Path dir = registryDir();
+      Files.createDirectories(dir);
+      try (FileChannel channel = FileChannel.open(dir.resolve(browserName + ".lock"), CREATE, WRITE)) {
+        // Released when the channel is closed.
+        channel.lock();
+        return action.run(dir.resolve(browserName + ".json"));
+      }
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to access browser server registry", e);
+    } finally {
+      registryLock.unlock();
+    }
+  }
+
+  private static Path registryDir() {
+    String dir = System.getProperty("playwright.browserServer.dir");
+    if (dir != null) {
+      return Paths.get(dir);
+    }
+    return Paths.get(System.getProperty("java.io.tmpdir"), "playwright-browser-servers");
+  }
+
+  private static Registration readRegistration(Path registryFile) {
+    try {
+      if (!Files.exists(registryFile)) {
+        return null;
+      }
+      String json = new String(Files.readAllBytes(registryFile), StandardCharsets.UTF_8);
+      return gson().fromJson(json, Registration.class);
+    } catch (IOException | RuntimeException e) {
+      // Treat a corrupted file as no registration.
+      return null;
+    }
+  }
+
+  private static void writeRegistration(Path registryFile, Registration registration) throws IOException {
+    Path tmp = registryFile.resolveSibling(registryFile.getFileName() + ".tmp");
+    Files.write(tmp, gson().toJson(registration).getBytes(StandardCharsets.UTF_8));
+    Files.move(tmp, registryFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private static boolean isReachable(String wsEndpoint) {
+    try {
+      URI uri = new URI(wsEndpoint);
+      try (Socket socket = new Socket()) {
+        socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 1000);
+        return true;
+      }
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  private static Process startServer(String browserName) {
+    try {
+      Path dir = Driver.ensureDriverInstalled().getParent();
+      boolean isWindows = System.getProperty("os.name").toLowerCase().contains("windows");
+      String node = dir.resolve(isWindows ? "node.exe" : "node").toString();
+      String cliJs = dir.resolve("package/lib/cli/cli.js").toString();
+      // Run node directly rather than the playwright.sh script so that destroying the process stops the server.
+      ProcessBuilder pb = new ProcessBuilder(node, cliJs, "launch-server", browserName);
+      pb.directory(dir.toFile());
+      pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+      return pb.start();
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to launch browser server", e);
+    }
+  }
+
+  private static String readEndpoint(Process process) {
+    CompletableFuture<String> endpoint = new CompletableFuture<>();
+    BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    Thread thread = new Thread(() -> {
+      try {
+        endpoint.complete(input.readLine());
+        // The server keeps writing to its stdout, which would block it once the pipe is full.
+        while (input.readLine() != null) {
+        }
+      } catch (IOException e) {
+        // Server has exited.
+        endpoint.completeExceptionally(e);
+      }
+    }, "Playwright-BrowserServerOutput");
+    thread.setDaemon(true);
+    thread.start();
+    String line;
+    try {
+      line = endpoint.get(ENDPOINT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      stop(process);
+      throw new PlaywrightException("Timed out waiting for browser server address");
+    } catch (ExecutionException e) {
+      stop(process);
+      throw new PlaywrightException("Failed to read browser server address", e.getCause());
+    } catch (InterruptedException e) {
+      stop(process);
+      Thread.currentThread().interrupt();
+      throw new PlaywrightException("Operation interrupted", e);
+    }
+    if (line == null || !line.startsWith("ws://")) {
+      stop(process);
+      throw new PlaywrightException("Invalid web socket address: " + line);
+    }
+    return line;
+  }
+
+  private static void stop(Process process) {
+    process.destroy();
+    try {
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // Next launch will overwrite it.
+    }
+  }
+}
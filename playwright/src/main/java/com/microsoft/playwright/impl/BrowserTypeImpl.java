@@ -27,27 +27,73 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static com.microsoft.playwright.impl.Serialization.gson;
 
 class BrowserTypeImpl extends ChannelOwner implements BrowserType {
+  // Launches started by Playwright.create(), keyed by the serialized launch params.
+  private final Map<String, WaitableResult<JsonElement>> prelaunched = new HashMap<>();
+
   BrowserTypeImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
   }
 
+  void prelaunch(LaunchOptions options) {
+    JsonObject params = launchParams(options);
+    String key = params.toString();
+    WaitableResult<JsonElement> result = sendMessageAsync("launch", params);
+    synchronized (prelaunched) {
+      prelaunched.put(key, result);
+    }
+    // A claiming launch() replaces this callback and reports the error itself.
+    result.onDone(() -> {
+      synchronized (prelaunched) {
+        if (prelaunched.get(key) != result) {
+          return;
+        }
+        try {
+          result.get();
+        } catch (PlaywrightException e) {
+          // The next launch() with these options starts a new browser.
+          prelaunched.remove(key);
+          if (!Utils.isSafeCloseError(e)) {
+            e.printStackTrace();
+          }
+        }
+      }
+    });
+  }
+
+  // For tests.
+  WaitableResult<JsonElement> prelaunchedResult(LaunchOptions options) {
+    synchronized (prelaunched) {
+      return prelaunched.get(launchParams(options).toString());
+    }
+  }
+
   @Override
   public BrowserImpl launch(LaunchOptions options) {
     return withLogging("BrowserType.launch", () -> launchImpl(options));
   }
 
   private BrowserImpl launchImpl(LaunchOptions options) {
+    JsonObject params = launchParams(options);
+    WaitableResult<JsonElement> prelaunch;
+    synchronized (prelaunched) {
+      prelaunch = prelaunched.remove(params.toString());
+    }
+    JsonElement result = prelaunch == null ? sendMessage("launch", params) : runUntil(() -> {}, prelaunch);
+    return connection.getExistingObject(result.getAsJsonObject().getAsJsonObject("browser").get("guid").getAsString());
+  }
+
+  private static JsonObject launchParams(LaunchOptions options) {
     if (options == null) {
       options = new LaunchOptions();
     }
-    JsonObject params = gson().toJsonTree(options).getAsJsonObject();
-    JsonElement result = sendMessage("launch", params);
-    return connection.getExistingObject(result.getAsJsonObject().getAsJsonObject("browser").get("guid").getAsString());
+    return gson().toJsonTree(options).getAsJsonObject();
   }
 
   @Override
@@ -147,6 +193,7 @@ class BrowserTypeImpl extends ChannelOwner implements BrowserType {
     if (options.recordVideoDir != null) {
       context.videosDir = options.recordVideoDir;
     }
+    context.enableResponseCacheIfConfigured();
     return context;
   }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.util.*;
+
+/**
+ * Limits the number of outstanding calls per connection and per page. Callers that don't
+ * fit wait in per-page queues which are served round-robin, so a page issuing a burst of
+ * calls doesn't starve the others. Configured with the playwright.maxInFlightCalls and
+ * playwright.maxInFlightCallsPerPage system properties.
+ */
+class CallLimiter {
+  private final int maxCalls;
+  private final int maxCallsPerKey;
+  private int inFlight;
+  private final Map<Object, Integer> inFlightByKey = new HashMap<>();
+  // Keys with waiting callers in the order they will be served.
+  private final LinkedHashMap<Object, ArrayDeque<Admission>> waiting = new LinkedHashMap<>();
+  private long admittedAfterWait;
+  private long totalWaitNanos;
+  private long maxWaitNanos;
+
+  class Admission implements Waitable<Void> {
+    final Object key;
+    private final long createdAt = System.nanoTime();
+    private volatile boolean isGranted;
+    private volatile Runnable signal;
+
+    private Admission(Object key) {
+      this.key = key;
+    }
+
+    private void grant() {
+      isGranted = true;
+      Runnable signal = this.signal;
+      if (signal != null) {
+        signal.run();
+      }
+    }
+
+    @Override
+    public boolean isDone() {
+      return isGranted;
+    }
+
+    @Override
+    public Void get() {
+      return null;
+    }
+
+    @Override
+    public void dispose() {
+      if (!isGranted) {
+        cancel(this);
+      }
+    }
+
+    @Override
+    public void onDone(Runnable signal) {
+      this.signal = signal;
+      if (isGranted) {
+        signal.run();
+      }
+    }
+  }
+
+  static CallLimiter fromSystemProperties() {
+    String maxCalls = System.getProperty("playwright.maxInFlightCalls");
+    String maxCallsPerPage = System.getProperty("playwright.maxInFlightCallsPerPage");
+    if (maxCalls == null && maxCallsPerPage == null) {
+      return null;
+    }
+    return new CallLimiter(maxCalls == null ? Integer.MAX_VALUE : Integer.parseInt(maxCalls),
+      maxCallsPerPage == null ? Integer.MAX_VALUE : Integer.parseInt(maxCallsPerPage));
+  }
+
+  CallLimiter(int maxCalls, int maxCallsPerKey) {
+    this.maxCalls = maxCalls;
+    this.maxCallsPerKey = maxCallsPerKey;
+  }
+
+  /**
+   * Returns an admission which is either already granted or will be granted once enough
+   * outstanding calls complete. Each granted admission must be released.
+   */
+  synchronized Admission acquire(Object key) {
+    Admission admission = new Admission(key);
+    if (!waiting.containsKey(key) && canAdmit(key)) {
+      admit(admission);
+      admission.isGranted = true;
+      return admission;
+    }
+    waiting.computeIfAbsent(key, k -> new ArrayDeque<>()).add(admission);
+    return admission;
+  }
+
+  void release(Admission admission) {
+    List<Admission> granted = new ArrayList<>();
+    synchronized (this) {
+      --inFlight;
+      int count = inFlightByKey.get(admission.key) - 1;
+      if (count == 0) {
+        inFlightByKey.remove(admission.key);
+      } else {
+        inFlightByKey.put(admission.key, count);
+      }
+      admitWaiting(granted);
+    }
+    // Signal outside of the lock, the waiting thread may be this one.
+    for (Admission a : granted) {
+      a.grant();
+    }
+  }
+
+  private synchronized void cancel(Admission admission) {
+    ArrayDeque<Admission> queue = waiting.get(admission.key);
+    if (queue != null && queue.remove(admission) && queue.isEmpty()) {
+      waiting.remove(admission.key);
+    }
+  }
+
+  private void admitWaiting(List<Admission> granted) {
+    boolean progress = true;
+    while (inFlight < maxCalls && !waiting.isEmpty() && progress) {
+      progress = false;
+      for (Object key : new ArrayList<>(waiting.keySet())) {
+        if (inFlight >= maxCalls) {
+          break;
+        }
+        if (!canAdmit(key)) {
+          continue;
+        }
+        ArrayDeque<Admission> queue = waiting.remove(key);
+        Admission admission = queue.poll();
+        // Re-insert at the end so that other keys are served next.
+        if (!queue.isEmpty()) {
+          waiting.put(key, queue);
+        }
+        admit(admission);
+        long waitNanos = System.nanoTime() - admission.createdAt;
+        ++admittedAfterWait;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        granted.add(admission);
+        progress = true;
+      }
+    }
+  }
+
+  private boolean canAdmit(Object key) {
+    return inFlight < maxCalls && inFlightByKey.getOrDefault(key, 0) < maxCallsPerKey;
+  }
+
+  private void admit(Admission admission) {
+    ++inFlight;
+    inFlightByKey.merge(admission.key, 1, Integer::sum);
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  synchronized int waitingCount() {
+    int count = 0;
+    for (ArrayDeque<Admission> queue : waiting.values()) {
+      count += queue.size();
+    }
+    return count;
+  }
+
+  synchronized double averageWaitMillis() {
+    return admittedAfterWait == 0 ? 0 : totalWaitNanos / 1e6 / admittedAfterWait;
+  }
+
+  synchronized double maxWaitMillis() {
+    return maxWaitNanos / 1e6;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outstanding calls keyed by message id. Ids are allocated here in increasing order, so
+ * the calls are kept in a ring buffer indexed by {@code id & mask} that spans from the
+ * oldest outstanding id to the newest one. Adding and removing a call doesn't allocate,
+ * the buffer only grows when the span exceeds its capacity. Once it reaches
+ * {@link #MAX_CAPACITY} the oldest calls that are still unanswered are moved to a map
+ * instead, so a single call that never gets a reply doesn't grow the buffer forever.
+ */
+class CallbackTable {
+  static final int MAX_CAPACITY = 4096;
+
+  private static class Outlier {
+    final WaitableResult<JsonElement> callback;
+    final long sentAt;
+
+    Outlier(WaitableResult<JsonElement> callback, long sentAt) {
+      this.callback = callback;
+      this.sentAt = sentAt;
+    }
+  }
+
+  private WaitableResult<JsonElement>[] callbacks;
+  private long[] sentAt;
+  private int mask;
+  // Lowest id that may still be outstanding.
+  private int oldestId = 1;
+  private int nextId = 1;
+  private int size;
+  // Calls older than oldestId, in id order.
+  private final Map<Integer, Outlier> outliers = new LinkedHashMap<>();
+
+  CallbackTable() {
+    allocate(64);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void allocate(int capacity) {
+    callbacks = new WaitableResult[capacity];
+    sentAt = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Registers the callback and returns the id of the message to send.
+   */
+  synchronized int add(WaitableResult<JsonElement> callback) {
+    int id = nextId++;
+    if (id - oldestId >= callbacks.length) {
+      if (callbacks.length < MAX_CAPACITY) {
+        grow();
+      } else {
+        evictOldest(id);
+      }
+    }
+    callbacks[id & mask] = callback;
+    sentAt[id & mask] = System.nanoTime();
+    ++size;
+    return id;
+  }
+
+  /**
+   * Removes and returns the callback or {@code null} if there is no such outstanding call.
+   */
+  synchronized WaitableResult<JsonElement> remove(int id) {
+    if (id - oldestId < 0) {
+      Outlier outlier = outliers.remove(id);
+      if (outlier == null) {
+        return null;
+      }
+      --size;
+      return outlier.callback;
+    }
+    if (id - nextId >= 0) {
+      return null;
+    }
+    int index = id & mask;
+    WaitableResult<JsonElement> callback = callbacks[index];
+    if (callback == null) {
+      return null;
+    }
+    callbacks[index] = null;
+    --size;
+    while (oldestId != nextId && callbacks[oldestId & mask] == null) {
+      ++oldestId;
+    }
+    return callback;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * How long the oldest outstanding call has been waiting for its reply, 0 if there are none.
+   */
+  synchronized long oldestCallAgeMillis() {
+    if (size == 0) {
+      return 0;
+    }
+    Iterator<Outlier> it = outliers.values().iterator();
+    long oldestSentAt = it.hasNext() ? it.next().sentAt : sentAt[oldestId & mask];
+    return (System.nanoTime() - oldestSentAt) / 1_000_000;
+  }
+
+  synchronized int capacity() {
+    return callbacks.length;
+  }
+
+  // Makes room for the new id by moving the calls at the start of the span to the outliers.
+  private void evictOldest(int id) {
+    while (id - oldestId >= callbacks.length) {
+      int index = oldestId & mask;
+      if (callbacks[index] != null) {
+        outliers.put(oldestId, new Outlier(callbacks[index], sentAt[index]));
+        callbacks[index] = null;
+      }
+      ++oldestId;
+    }
+    while (oldestId != id && callbacks[oldestId & mask] == null) {
+      ++oldestId;
+    }
+  }
+
+  private void grow() {
+    WaitableResult<JsonElement>[] oldCallbacks = callbacks;
+    long[] oldSentAt = sentAt;
+    int oldMask = mask;
+    allocate(oldCallbacks.length * 2);
+    for (int id = oldestId; id != nextId - 1; id++) {
+      callbacks[id & mask] = oldCallbacks[id & oldMask];
+      sentAt[id & mask] = oldSentAt[id & oldMask];
+    }
+  }
+}
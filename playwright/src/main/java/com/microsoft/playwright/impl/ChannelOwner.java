@@ -20,13 +20,13 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class ChannelOwner extends LoggingSupport {
   final Connection connection;
   private final ChannelOwner parent;
-  private final Map<String, ChannelOwner> objects = new HashMap<>();
+  private final Map<String, ChannelOwner> objects = new ConcurrentHashMap<>();
 
   final String type;
   final String guid;
@@ -67,6 +67,19 @@ class ChannelOwner extends LoggingSupport {
     objects.clear();
   }
 
+  // Forgets the object on the client side only, it can still be used to send messages.
+  void release() {
+    markReleased();
+    disconnect();
+  }
+
+  private void markReleased() {
+    connection.markReleased(this);
+    for (ChannelOwner child : objects.values()) {
+      child.markReleased();
+    }
+  }
+
   WaitableResult<JsonElement> sendMessageAsync(String method, JsonObject params) {
     return connection.sendMessageAsync(guid, method, params);
   }
@@ -79,10 +92,29 @@ class ChannelOwner extends LoggingSupport {
     return connection.sendMessage(guid, method, params);
   }
 
+  private static class Signal implements Runnable {
+    volatile boolean isSet;
+
+    @Override
+    public void run() {
+      isSet = true;
+    }
+  }
+
   <T> T runUntil(Runnable code, Waitable<T> waitable) {
     try {
+      // Waitables signal when they complete, so the waitable is only re-checked after a
+      // signal rather than after every message.
+      Signal signal = new Signal();
+      waitable.onDone(signal);
       code.run();
-      while (!waitable.isDone()) {
+      while (true) {
+        if (signal.isSet) {
+          signal.isSet = false;
+          if (waitable.isDone()) {
+            break;
+          }
+        }
         connection.processOneMessage();
       }
       return waitable.get();
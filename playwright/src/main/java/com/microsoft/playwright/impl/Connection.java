@@ -20,11 +20,13 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.PlaywrightMetrics.Priority;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -32,8 +34,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.microsoft.playwright.impl.Serialization.gson;
 
@@ -61,11 +76,87 @@ class Message {
 
 public class Connection {
   private final Transport transport;
-  private final Map<String, ChannelOwner> objects = new HashMap<>();
+  private final Map<String, ChannelOwner> objects = new ConcurrentHashMap<>();
+  // Live objects by type, kept up to date so that reading them doesn't scan all objects.
+  private final Map<String, AtomicInteger> objectCounts = new ConcurrentHashMap<>();
   private final Root root;
-  private int lastId = 0;
+  // The browser is blocked until it receives replies to these objects.
+  private static final Set<String> urgentTypes = new HashSet<>(Arrays.asList("Route", "Dialog", "BindingCall"));
+  private static final Set<String> bulkMethods = new HashSet<>(Arrays.asList(
+    "screenshot", "pdf", "setInputFiles", "body", "storageState"));
   private final Path srcDir;
-  private final Map<Integer, WaitableResult<JsonElement>> callbacks = new HashMap<>();
+  private final CallbackTable callbacks = new CallbackTable();
+  // Messages may be sent from any thread (e.g. event listeners running on their own executor),
+  // whichever thread holds the lock reads and dispatches incoming messages for all of them.
+  private final ReentrantLock dispatchLock = new ReentrantLock();
+  // When enabled route decisions are sent without waiting for the reply, failures are
+  // reported from the next blocking call on the same page.
+  final boolean deferRouteDecisions = Boolean.getBoolean("playwright.deferRouteDecisions");
+  // Failures of deferred calls keyed by the page they were made for, see pageKey.
+  private final Map<Object, List<PlaywrightException>> deferredErrors = new HashMap<>();
+  // Objects dropped on the client side while the driver may still refer to them, the oldest
+  // are forgotten first. They can still be looked up for as long as somebody holds them.
+  private static final int MAX_RELEASED_GUIDS = 10_000;
+  private final Map<String, WeakReference<ChannelOwner>> releasedObjects = Collections.synchronizedMap(
+    new LinkedHashMap<String, WeakReference<ChannelOwner>>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, WeakReference<ChannelOwner>> eldest) {
+        return size() > MAX_RELEASED_GUIDS;
+      }
+    });
+  // Null unless user event listeners are delivered off the dispatch thread, see SerialExecutor.
+  final ExecutorService listenerPool = SerialExecutor.createListenerPool();
+  // Null unless binding callbacks run off the dispatch thread, see BindingCall.
+  final ExecutorService bindingPool = BindingCall.createExecutor();
+  // Null unless the number of outstanding calls is limited.
+  private final CallLimiter callLimiter = CallLimiter.fromSystemProperties();
+
+  private class DeferredResult extends WaitableResult<JsonElement> {
+    private final String method;
+    private final Object pageKey;
+
+    DeferredResult(String method, Object pageKey) {
+      this.method = method;
+      this.pageKey = pageKey;
+    }
+
+    @Override
+    void completeExceptionally(RuntimeException exception) {
+      super.completeExceptionally(exception);
+      // Target may have gone away while the decision was in flight, that's expected.
+      if (Utils.isSafeCloseError(exception.getMessage())) {
+        return;
+      }
+      PlaywrightException error = new PlaywrightException("Deferred " + method + " failed: " + exception.getMessage(), exception);
+      synchronized (deferredErrors) {
+        deferredErrors.computeIfAbsent(pageKey, key -> new ArrayList<>()).add(error);
+      }
+    }
+  }
+
+  private class AdmittedResult extends WaitableResult<JsonElement> {
+    private final CallLimiter.Admission admission;
+
+    AdmittedResult(CallLimiter.Admission admission) {
+      this.admission = admission;
+    }
+
+    @Override
+    void complete(JsonElement result) {
+      if (!isDone()) {
+        callLimiter.release(admission);
+      }
+      super.complete(result);
+    }
+
+    @Override
+    void completeExceptionally(RuntimeException exception) {
+      if (!isDone()) {
+        callLimiter.release(admission);
+      }
+      super.completeExceptionally(exception);
+    }
+  }
 
   class Root extends ChannelOwner {
     Root(Connection connection) {
@@ -88,15 +179,116 @@ public class Connection {
   }
 
   void close() throws IOException {
+    if (listenerPool != null) {
+      listenerPool.shutdown();
+    }
+    if (bindingPool != null) {
+      bindingPool.shutdown();
+    }
     transport.close();
   }
 
   public JsonElement sendMessage(String guid, String method, JsonObject params) {
-    return root.runUntil(() -> {}, sendMessageAsync(guid, method, params));
+    throwDeferredErrors(guid);
+    // Replies the browser is blocked on are never held back, they free up other calls.
+    if (callLimiter == null || priority(guid, method) == Priority.URGENT) {
+      return root.runUntil(() -> {}, sendMessageAsync(guid, method, params));
+    }
+    CallLimiter.Admission admission = callLimiter.acquire(pageKey(guid));
+    if (!admission.isDone()) {
+      root.runUntil(() -> {}, admission);
+    }
+    WaitableResult<JsonElement> result;
+    try {
+      result = internalSendMessage(guid, method, params, new AdmittedResult(admission));
+    } catch (RuntimeException e) {
+      callLimiter.release(admission);
+      throw e;
+    }
+    return root.runUntil(() -> {}, result);
+  }
+
+  // The page a call on the object is made on, calls on other objects share the root as the key.
+  private Object pageKey(String guid) {
+    ChannelOwner object = objects.get(guid);
+    if (object instanceof PageImpl) {
+      return object;
+    }
+    if (object instanceof FrameImpl && ((FrameImpl) object).page != null) {
+      return ((FrameImpl) object).page;
+    }
+    return root;
+  }
+
+  int outgoingQueueLength(Priority priority) {
+    return transport instanceof PipeTransport ? ((PipeTransport) transport).outgoingQueueLength(priority) : 0;
+  }
+
+  double averageOutgoingWaitMillis(Priority priority) {
+    return transport instanceof PipeTransport ? ((PipeTransport) transport).averageOutgoingWaitMillis(priority) : 0;
+  }
+
+  public int inFlightCalls() {
+    return callbacks.size();
+  }
+
+  /**
+   * How long the oldest outstanding call has been waiting for its reply, a steadily growing
+   * value indicates a stuck call.
+   */
+  public long oldestInFlightCallAgeMillis() {
+    return callbacks.oldestCallAgeMillis();
+  }
+
+  public int callsWaitingForAdmission() {
+    return callLimiter == null ? 0 : callLimiter.waitingCount();
+  }
+
+  /**
+   * Average time spent waiting for admission by the calls that had to wait.
+   */
+  public double averageAdmissionWaitMillis() {
+    return callLimiter == null ? 0 : callLimiter.averageWaitMillis();
+  }
+
+  public double maxAdmissionWaitMillis() {
+    return callLimiter == null ? 0 : callLimiter.maxWaitMillis();
   }
 
   public WaitableResult<JsonElement> sendMessageAsync(String guid, String method, JsonObject params) {
-    return internalSendMessage(guid, method, params);
+    return internalSendMessage(guid, method, params, new WaitableResult<>());
+  }
+
+  /**
+   * Sends the message without waiting for the reply. A failure is thrown from the next call on
+   * the page that {@code pageGuid} belongs to.
+   */
+  void sendMessageDeferred(String guid, String method, JsonObject params, String pageGuid) {
+    internalSendMessage(guid, method, params, new DeferredResult(method, pageKey(pageGuid)));
+  }
+
+  void discardDeferredErrors(PageImpl page) {
+    synchronized (deferredErrors) {
+      deferredErrors.remove(page);
+    }
+  }
+
+  private void throwDeferredErrors(String guid) {
+    List<PlaywrightException> errors;
+    synchronized (deferredErrors) {
+      if (deferredErrors.isEmpty()) {
+        return;
+      }
+      errors = deferredErrors.remove(pageKey(guid));
+    }
+    if (errors == null) {
+      return;
+    }
+    PlaywrightException error = errors.get(0);
+    for (int i = 1; i < errors.size(); i++) {
+      error.addSuppressed(errors.get(i));
+    }
+    throw error;
   }
 
   private String sourceFile(StackTraceElement frame) {
@@ -138,10 +330,8 @@ public class Connection {
     return jsonStack;
   }
 
-  private WaitableResult<JsonElement> internalSendMessage(String guid, String method, JsonObject params) {
-    int id = ++lastId;
-    WaitableResult<JsonElement> result = new WaitableResult<>();
-    callbacks.put(id, result);
+  private WaitableResult<JsonElement> internalSendMessage(String guid, String method, JsonObject params, WaitableResult<JsonElement> result) {
+    int id = callbacks.add(result);
     JsonObject message = new JsonObject();
     message.addProperty("id", id);
     message.addProperty("guid", guid);
@@ -152,10 +342,21 @@ public class Connection {
       metadata.add("stack", currentStackTrace());
       message.add("metadata", metadata);
     }
-    transport.send(gson().toJson(message));
+    transport.send(gson().toJson(message), priority(guid, method));
     return result;
   }
 
+  private Priority priority(String guid, String method) {
+    ChannelOwner object = objects.get(guid);
+    if (object != null && urgentTypes.contains(object.type)) {
+      return Priority.URGENT;
+    }
+    if (bulkMethods.contains(method)) {
+      return Priority.BULK;
+    }
+    return Priority.INTERACTIVE;
+  }
+
   public ChannelOwner waitForObjectWithKnownName(String guid) {
     while (!objects.containsKey(guid)) {
       processOneMessage();
@@ -164,38 +365,85 @@ public class Connection {
   }
 
   public <T> T getExistingObject(String guid) {
-    @SuppressWarnings("unchecked") T result = (T) objects.get(guid);
+    ChannelOwner object = objects.get(guid);
+    if (object == null) {
+      WeakReference<ChannelOwner> released = releasedObjects.get(guid);
+      object = released == null ? null : released.get();
+    }
+    @SuppressWarnings("unchecked") T result = (T) object;
     if (result == null)
       throw new PlaywrightException("Object doesn't exist: " + guid);
     return result;
   }
 
+  /**
+   * Number of live objects by type, for monitoring.
+   */
+  public Map<String, Integer> liveObjectCounts() {
+    Map<String, Integer> counts = new TreeMap<>();
+    for (Map.Entry<String, AtomicInteger> entry : objectCounts.entrySet()) {
+      int count = entry.getValue().get();
+      if (count > 0) {
+        counts.put(entry.getKey(), count);
+      }
+    }
+    return counts;
+  }
+
+  int liveObjectCount(String type) {
+    AtomicInteger count = objectCounts.get(type);
+    return count == null ? 0 : count.get();
+  }
+
   void registerObject(String guid, ChannelOwner object) {
     objects.put(guid, object);
+    // The root has no type and is not counted.
+    if (!object.type.isEmpty()) {
+      objectCounts.computeIfAbsent(object.type, type -> new AtomicInteger()).incrementAndGet();
+    }
   }
 
   void unregisterObject(String guid) {
-    objects.remove(guid);
+    ChannelOwner object = objects.remove(guid);
+    if (object != null && !object.type.isEmpty()) {
+      objectCounts.get(object.type).decrementAndGet();
+    }
+  }
+
+  void markReleased(ChannelOwner object) {
+    releasedObjects.put(object.guid, new WeakReference<>(object));
   }
 
   void processOneMessage() {
-    String messageString = transport.poll(Duration.ofMillis(10));
-    if (messageString == null) {
+    try {
+      // Another thread is dispatching, it will complete our calls too.
+      if (!dispatchLock.tryLock(10, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
       return;
     }
-    Gson gson = gson();
-    Message message = gson.fromJson(messageString, Message.class);
-    dispatch(message);
+    try {
+      String messageString = transport.poll(Duration.ofMillis(10));
+      if (messageString == null) {
+        return;
+      }
+      Gson gson = gson();
+      Message message = gson.fromJson(messageString, Message.class);
+      dispatch(message);
+    } finally {
+      dispatchLock.unlock();
+    }
   }
 
   private void dispatch(Message message) {
 //    System.out.println("Message: " + message.method + " " + message.id);
     if (message.id != 0) {
-      WaitableResult<JsonElement> callback = callbacks.get(message.id);
+      WaitableResult<JsonElement> callback = callbacks.remove(message.id);
       if (callback == null) {
         throw new PlaywrightException("Cannot find command to respond: " + message.id);
       }
-      callbacks.remove(message.id);
 //      System.out.println("Message: " + message.id + " " + message);
       if (message.error == null) {
         callback.complete(message.result);
@@ -220,6 +468,10 @@ public class Connection {
     if (message.method.equals("__dispose__")) {
       ChannelOwner object = objects.get(message.guid);
       if (object == null) {
+        // The driver won't refer to it anymore.
+        if (releasedObjects.remove(message.guid) != null) {
+          return;
+        }
         throw new PlaywrightException("Cannot find object to dispose: " + message.guid);
       }
       object.disconnect();
@@ -227,6 +479,9 @@ public class Connection {
     }
     ChannelOwner object = objects.get(message.guid);
     if (object == null) {
+      if (releasedObjects.containsKey(message.guid)) {
+        return;
+      }
       throw new PlaywrightException("Cannot find object to call " + message.method + ": " + message.guid);
     }
     object.handleEvent(message.method, message.params);
@@ -238,6 +493,11 @@ public class Connection {
 
     ChannelOwner parent = objects.get(parentGuid);
     if (parent == null) {
+      if (releasedObjects.containsKey(parentGuid)) {
+        // Nobody can reach a child of a released object, ignore it and whatever refers to it.
+        releasedObjects.put(guid, new WeakReference<>(null));
+        return null;
+      }
       throw new PlaywrightException("Cannot find parent object " + parentGuid + " to create " + guid);
     }
     JsonObject initializer = params.getAsJsonObject("initializer");
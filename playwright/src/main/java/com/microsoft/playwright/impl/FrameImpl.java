@@ -27,6 +27,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Consumer;
 
 import static com.microsoft.playwright.options.LoadState.*;
@@ -37,8 +39,8 @@ public class FrameImpl extends ChannelOwner implements Frame {
   private String name;
   private String url;
   FrameImpl parentFrame;
-  Set<FrameImpl> childFrames = new LinkedHashSet<>();
-  private final Set<LoadState> loadStates = new HashSet<>();
+  Set<FrameImpl> childFrames = new CopyOnWriteArraySet<>();
+  private final Set<LoadState> loadStates = ConcurrentHashMap.newKeySet();
   enum InternalEventType { NAVIGATED, LOADSTATE }
   private final ListenerCollection<InternalEventType> internalListeners = new ListenerCollection<>();
   PageImpl page;
@@ -758,6 +760,7 @@ public class FrameImpl extends ChannelOwner implements Frame {
   private class WaitForLoadStateHelper implements Waitable<Void>, Consumer<LoadState> {
     private final LoadState expectedState;
     private boolean isDone;
+    private Runnable signal;
 
     WaitForLoadStateHelper(LoadState state) {
       expectedState = state;
@@ -772,6 +775,9 @@ public class FrameImpl extends ChannelOwner implements Frame {
       if (expectedState.equals(state)) {
         isDone = true;
         dispose();
+        if (signal != null) {
+          signal.run();
+        }
       }
     }
 
@@ -779,6 +785,14 @@ public class FrameImpl extends ChannelOwner implements Frame {
       internalListeners.remove(InternalEventType.LOADSTATE, this);
     }
 
+    @Override
+    public void onDone(Runnable signal) {
+      this.signal = signal;
+      if (isDone) {
+        signal.run();
+      }
+    }
+
     public boolean isDone() {
       return isDone;
     }
@@ -796,6 +810,7 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
     private RequestImpl request;
     private RuntimeException exception;
+    private Runnable signal;
 
     WaitForNavigationHelper(UrlMatcher matcher, LoadState expectedLoadState) {
       this.matcher = matcher;
@@ -820,6 +835,23 @@ public class FrameImpl extends ChannelOwner implements Frame {
         loadStateHelper = new WaitForLoadStateHelper(expectedLoadState);
       }
       internalListeners.remove(InternalEventType.NAVIGATED, this);
+      if (signal != null) {
+        if (loadStateHelper != null) {
+          loadStateHelper.onDone(signal);
+        } else {
+          signal.run();
+        }
+      }
+    }
+
+    @Override
+    public void onDone(Runnable signal) {
+      this.signal = signal;
+      if (loadStateHelper != null) {
+        loadStateHelper.onDone(signal);
+      } else if (exception != null) {
+        signal.run();
+      }
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Keeps base64 encoded contents of the files passed to {@code Route.fulfill(path)} so that
+ * fulfilling with the same unchanged file doesn't read and encode it again. Entries are
+ * validated against file size and modification time and evicted in LRU order once the
+ * encoded bodies exceed playwright.fulfillCache.maxBytes (0 disables caching).
+ */
+class FulfillBodyCache {
+  private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+  // Files at least this large are read through a memory mapping rather than copied into the heap.
+  private static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+  private static FulfillBodyCache instance;
+
+  static class Body {
+    final String base64;
+    final String contentType;
+    final int length;
+    private final long lastModified;
+    private final long size;
+
+    private Body(String base64, String contentType, int length, long lastModified, long size) {
+      this.base64 = base64;
+      this.contentType = contentType;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+  }
+
+  private final long maxBytes;
+  private final LinkedHashMap<Path, Body> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long usedBytes;
+
+  static synchronized FulfillBodyCache instance() {
+    if (instance == null) {
+      String maxBytes = System.getProperty("playwright.fulfillCache.maxBytes");
+      instance = new FulfillBodyCache(maxBytes == null ? DEFAULT_MAX_BYTES : Long.parseLong(maxBytes));
+    }
+    return instance;
+  }
+
+  FulfillBodyCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  Body get(Path path) {
+    Path key = path.toAbsolutePath();
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(key, BasicFileAttributes.class);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to read from file: " + path, e);
+    }
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    synchronized (this) {
+      Body body = entries.get(key);
+      if (body != null && body.lastModified == lastModified && body.size == attributes.size()) {
+        return body;
+      }
+    }
+    Body body = new Body(encode(key, attributes.size()), Utils.mimeType(key),
+      (int) attributes.size(), lastModified, attributes.size());
+    put(key, body);
+    return body;
+  }
+
+  private synchronized void put(Path key, Body body) {
+    Body previous = entries.remove(key);
+    if (previous != null) {
+      usedBytes -= previous.base64.length();
+    }
+    if (body.base64.length() > maxBytes) {
+      return;
+    }
+    entries.put(key, body);
+    usedBytes += body.base64.length();
+    Iterator<Map.Entry<Path, Body>> it = entries.entrySet().iterator();
+    while (usedBytes > maxBytes && it.hasNext()) {
+      usedBytes -= it.next().getValue().base64.length();
+      it.remove();
+    }
+  }
+
+  private static String encode(Path path, long size) {
+    if (size > Integer.MAX_VALUE) {
+      throw new PlaywrightException("File is too large: " + path);
+    }
+    try {
+      if (size < MAPPED_READ_THRESHOLD) {
+        return Base64.getEncoder().encodeToString(Files.readAllBytes(path));
+      }
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        ByteBuffer encoded = Base64.getEncoder().encode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        return new String(encoded.array(), encoded.arrayOffset(), encoded.remaining(), ISO_8859_1);
+      }
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to read from file: " + path, e);
+    }
+  }
+}
@@ -16,47 +16,95 @@
 
 package com.microsoft.playwright.impl;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
-class ListenerCollection <EventType> {
-  private final HashMap<EventType, List<Consumer<?>>> listeners = new HashMap<>();
+/**
+ * Listeners are kept in copy-on-write arrays: add and remove copy, notify iterates the
+ * current snapshot without allocating. Modifications are serialized and the map is
+ * republished through a volatile field, so listeners can be added or removed from any
+ * thread while events are being delivered. If an executor is given user listeners are
+ * called on it, internal waitables are always notified inline.
+ */
+class ListenerCollection <EventType extends Enum<EventType>> {
+  private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+  // Never modified after publication, replaced as a whole.
+  private volatile EnumMap<EventType, Consumer<?>[]> listeners;
+  private final Executor executor;
+
+  ListenerCollection() {
+    this(null);
+  }
+
+  ListenerCollection(Executor executor) {
+    this.executor = executor;
+  }
 
   <T> void notify(EventType eventType, T param) {
-    List<Consumer<?>> list = listeners.get(eventType);
+    EnumMap<EventType, Consumer<?>[]> map = listeners;
+    if (map == null) {
+      return;
+    }
+    Consumer<?>[] list = map.get(eventType);
     if (list == null) {
       return;
     }
 
-    for (Consumer<?> listener: new ArrayList<>(list)) {
-      ((Consumer<T>) listener).accept(param);
+    for (Consumer<?> listener: list) {
+      @SuppressWarnings("unchecked") Consumer<T> consumer = (Consumer<T>) listener;
+      if (executor == null || listener instanceof Waitable) {
+        consumer.accept(param);
+      } else {
+        executor.execute(() -> consumer.accept(param));
+      }
     }
   }
 
-  void add(EventType type, Consumer<?> listener) {
-    List<Consumer<?>> list = listeners.get(type);
-    if (list == null) {
-      list = new ArrayList<>();
-      listeners.put(type, list);
-    }
-    list.add(listener);
+  synchronized void add(EventType type, Consumer<?> listener) {
+    EnumMap<EventType, Consumer<?>[]> map = listeners == null ?
+      new EnumMap<>(type.getDeclaringClass()) : new EnumMap<>(listeners);
+    Consumer<?>[] list = map.getOrDefault(type, NO_LISTENERS);
+    Consumer<?>[] newList = Arrays.copyOf(list, list.length + 1);
+    newList[list.length] = listener;
+    map.put(type, newList);
+    listeners = map;
   }
 
-  void remove(EventType type, Consumer<?>  listener) {
-    List<Consumer<?>> list = listeners.get(type);
+  synchronized void remove(EventType type, Consumer<?>  listener) {
+    if (listeners == null) {
+      return;
+    }
+    Consumer<?>[] list = listeners.get(type);
     if (list == null) {
       return;
     }
-    list.removeAll(Collections.singleton(listener));
-    if (list.isEmpty()) {
-      listeners.remove(type);
+    int count = 0;
+    Consumer<?>[] newList = new Consumer<?>[list.length];
+    for (Consumer<?> l : list) {
+      if (!listener.equals(l)) {
+        newList[count++] = l;
+      }
+    }
+    if (count == list.length) {
+      return;
+    }
+    EnumMap<EventType, Consumer<?>[]> map = new EnumMap<>(listeners);
+    if (count == 0) {
+      map.remove(type);
+    } else {
+      map.put(type, Arrays.copyOf(newList, count));
     }
+    listeners = map;
+  }
+
+  synchronized void clear() {
+    listeners = null;
   }
 
   boolean hasListeners(EventType type) {
-    return listeners.containsKey(type);
+    EnumMap<EventType, Consumer<?>[]> map = listeners;
+    return map != null && map.containsKey(type);
   }
 }
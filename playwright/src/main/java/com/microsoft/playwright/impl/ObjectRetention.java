@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Drops network objects of a long-lived page from the client side object maps once they
+ * are no longer going to receive events: finished requests with their responses and
+ * redirect chains, routes whose decision has been sent, delivered console messages and
+ * closed web sockets. At most
+ * playwright.retention.maxObjects such objects are kept per page and none longer than
+ * playwright.retention.maxAgeMillis. Released objects stay usable by whoever still holds a
+ * reference, the driver keeps its side until the page is closed.
+ *
+ * <p> Navigation requests and their responses are referenced by the replies to goto and by
+ * navigation events that may arrive long after the request has finished, so the last few of
+ * them are kept regardless of the limits.
+ */
+class ObjectRetention {
+  private static final int PINNED_NAVIGATIONS = 4;
+  private final int maxObjects;
+  private final long maxAgeMillis;
+  private final ArrayDeque<ChannelOwner> objects = new ArrayDeque<>();
+  private final ArrayDeque<Long> completedAt = new ArrayDeque<>();
+  private final ArrayDeque<List<ChannelOwner>> navigations = new ArrayDeque<>();
+
+  static ObjectRetention fromSystemProperties() {
+    String maxObjects = System.getProperty("playwright.retention.maxObjects");
+    String maxAgeMillis = System.getProperty("playwright.retention.maxAgeMillis");
+    if (maxObjects == null && maxAgeMillis == null) {
+      return null;
+    }
+    return new ObjectRetention(maxObjects == null ? Integer.MAX_VALUE : Integer.parseInt(maxObjects),
+      maxAgeMillis == null ? Long.MAX_VALUE : Long.parseLong(maxAgeMillis));
+  }
+
+  ObjectRetention(int maxObjects, long maxAgeMillis) {
+    this.maxObjects = maxObjects;
+    this.maxAgeMillis = maxAgeMillis;
+  }
+
+  synchronized void completed(ChannelOwner object) {
+    long now = System.currentTimeMillis();
+    objects.add(object);
+    completedAt.add(now);
+    while (!objects.isEmpty() && (objects.size() > maxObjects || now - completedAt.peek() > maxAgeMillis)) {
+      completedAt.poll();
+      objects.poll().release();
+    }
+  }
+
+  synchronized void completedNavigation(List<ChannelOwner> chain) {
+    navigations.add(chain);
+    if (navigations.size() > PINNED_NAVIGATIONS) {
+      for (ChannelOwner object : navigations.poll()) {
+        completed(object);
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.PlaywrightMetrics.Priority;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of outgoing messages that hands out the highest priority message first.
+ * A message that has waited longer than {@link #MAX_WAIT_NANOS} is taken before any newer
+ * message regardless of its priority, so bulk traffic is delayed but never starved.
+ */
+class OutgoingQueue {
+  private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final Priority[] priorities = Priority.values();
+
+  private static class Entry {
+    final String message;
+    final long enqueuedAt;
+
+    Entry(String message, long enqueuedAt) {
+      this.message = message;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  // Indexed by priority ordinal.
+  private final ArrayDeque<Entry>[] queues;
+  private final long[] takenCount;
+  private final long[] totalWaitNanos;
+  private int size;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  OutgoingQueue(int capacity) {
+    this.capacity = capacity;
+    queues = new ArrayDeque[priorities.length];
+    for (int i = 0; i < queues.length; i++) {
+      queues[i] = new ArrayDeque<>();
+    }
+    takenCount = new long[priorities.length];
+    totalWaitNanos = new long[priorities.length];
+  }
+
+  void put(String message, Priority priority) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size >= capacity) {
+        notFull.await();
+      }
+      queues[priority.ordinal()].add(new Entry(message, System.nanoTime()));
+      ++size;
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  String take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size == 0) {
+        notEmpty.await();
+      }
+      long now = System.nanoTime();
+      int index = -1;
+      long oldest = Long.MAX_VALUE;
+      // Serve the longest waiting overdue message first.
+      for (int i = 0; i < queues.length; i++) {
+        Entry head = queues[i].peek();
+        if (head != null && now - head.enqueuedAt > MAX_WAIT_NANOS && head.enqueuedAt < oldest) {
+          oldest = head.enqueuedAt;
+          index = i;
+        }
+      }
+      if (index == -1) {
+        index = 0;
+        while (queues[index].isEmpty()) {
+          ++index;
+        }
+      }
+      Entry entry = queues[index].poll();
+      --size;
+      ++takenCount[index];
+      totalWaitNanos[index] += now - entry.enqueuedAt;
+      notFull.signal();
+      return entry.message;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  boolean isEmpty() {
+    lock.lock();
+    try {
+      return size == 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size(Priority priority) {
+    lock.lock();
+    try {
+      return queues[priority.ordinal()].size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Average time messages of the given priority spent in the queue before being written.
+   */
+  double averageWaitMillis(Priority priority) {
+    lock.lock();
+    try {
+      int i = priority.ordinal();
+      return takenCount[i] == 0 ? 0 : totalWaitNanos[i] / 1e6 / takenCount[i];
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -24,6 +24,8 @@ import com.microsoft.playwright.options.*;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -46,8 +48,10 @@ public class PageImpl extends ChannelOwner implements Page {
   private final TouchscreenImpl touchscreen;
   private ViewportSize viewport;
   private final Router routes = new Router();
-  private final Set<FrameImpl> frames = new LinkedHashSet<>();
-  private final ListenerCollection<EventType> listeners = new ListenerCollection<EventType>() {
+  private final Set<FrameImpl> frames = new CopyOnWriteArraySet<>();
+  // Null unless user listeners are delivered off the dispatch thread.
+  private final SerialExecutor listenerExecutor = SerialExecutor.forListeners(connection);
+  private final ListenerCollection<EventType> listeners = new ListenerCollection<EventType>(listenerExecutor) {
     @Override
     void add(EventType eventType, Consumer<?> listener) {
       if (eventType == EventType.FILECHOOSER) {
@@ -64,10 +68,14 @@ public class PageImpl extends ChannelOwner implements Page {
       }
     }
   };
-  final Map<String, BindingCallback> bindings = new HashMap<>();
+  final Map<String, BindingCallback> bindings = new ConcurrentHashMap<>();
+  // Null unless finished network objects are dropped from the client maps.
+  private final ObjectRetention retention = ObjectRetention.fromSystemProperties();
   BrowserContextImpl ownedContext;
+  // Init scripts can't be removed, pages that have them are not reused.
+  private volatile boolean hasInitScripts;
   private boolean isClosed;
-  final Set<Worker> workers = new HashSet<>();
+  final Set<Worker> workers = ConcurrentHashMap.newKeySet();
   private final TimeoutSettings timeoutSettings;
   private VideoImpl video;
 
@@ -132,11 +140,17 @@ public class PageImpl extends ChannelOwner implements Page {
     } else if ("webSocket".equals(event)) {
       String guid = params.getAsJsonObject("webSocket").get("guid").getAsString();
       WebSocketImpl webSocket = connection.getExistingObject(guid);
+      if (retention != null) {
+        webSocket.onClose(ws -> retention.completed(webSocket));
+      }
       listeners.notify(EventType.WEBSOCKET, webSocket);
     } else if ("console".equals(event)) {
       String guid = params.getAsJsonObject("message").get("guid").getAsString();
       ConsoleMessageImpl message = connection.getExistingObject(guid);
       listeners.notify(EventType.CONSOLE, message);
+      if (retention != null) {
+        retention.completed(message);
+      }
     } else if ("download".equals(event)) {
       String guid = params.getAsJsonObject("download").get("guid").getAsString();
       DownloadImpl download = connection.getExistingObject(guid);
@@ -174,14 +188,25 @@ public class PageImpl extends ChannelOwner implements Page {
       if (params.has("failureText")) {
         request.failure = params.get("failureText").getAsString();
       }
+      if (browserContext.responseCache != null) {
+        browserContext.responseCache.onRequestFailed(request);
+      }
       listeners.notify(EventType.REQUESTFAILED, request);
+      releaseWhenRetained(request);
     } else if ("requestFinished".equals(event)) {
       String guid = params.getAsJsonObject("request").get("guid").getAsString();
-      Request request = connection.getExistingObject(guid);
+      RequestImpl request = connection.getExistingObject(guid);
+      if (browserContext.responseCache != null) {
+        browserContext.responseCache.onRequestFinished(request);
+      }
       listeners.notify(EventType.REQUESTFINISHED, request);
+      releaseWhenRetained(request);
     } else if ("response".equals(event)) {
       String guid = params.getAsJsonObject("response").get("guid").getAsString();
-      Response response = connection.getExistingObject(guid);
+      ResponseImpl response = connection.getExistingObject(guid);
+      if (browserContext.responseCache != null) {
+        browserContext.responseCache.onResponse(response);
+      }
       listeners.notify(EventType.RESPONSE, response);
     } else if ("frameAttached".equals(event)) {
       String guid = params.getAsJsonObject("frame").get("guid").getAsString();
@@ -202,13 +227,15 @@ public class PageImpl extends ChannelOwner implements Page {
       }
       listeners.notify(EventType.FRAMEDETACHED, frame);
     } else if ("route".equals(event)) {
-      Route route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
+      RouteImpl route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
+      // Released once the handler has sent its decision, which may happen later on another thread.
+      route.retention = retention;
       boolean handled = routes.handle(route);
       if (!handled) {
         handled = browserContext.routes.handle(route);
       }
       if (!handled) {
-        route.resume();
+        browserContext.resumeUnhandledRoute(route);
       }
     } else if ("video".equals(event)) {
       video().setRelativePath(params.get("relativePath").getAsString());
@@ -229,12 +256,68 @@ public class PageImpl extends ChannelOwner implements Page {
     }
   }
 
+  private void releaseWhenRetained(RequestImpl request) {
+    if (retention == null) {
+      return;
+    }
+    // Redirects are released together with the final request, so that redirectedFrom() is
+    // always available while the final request is.
+    if (request.receivedResponse != null && isRedirect(request.receivedResponse.status())) {
+      return;
+    }
+    List<ChannelOwner> chain = new ArrayList<>();
+    for (RequestImpl r = request; r != null; r = r.redirectedFrom) {
+      if (r.receivedResponse != null) {
+        chain.add(r.receivedResponse);
+      }
+      chain.add(r);
+    }
+    if (request.isNavigationRequest()) {
+      retention.completedNavigation(chain);
+      return;
+    }
+    for (ChannelOwner object : chain) {
+      retention.completed(object);
+    }
+  }
+
+  private static boolean isRedirect(int status) {
+    return status >= 300 && status < 400 && status != 304;
+  }
+
   void didClose() {
     isClosed = true;
     browserContext.pages.remove(this);
+    // Nothing can be called on the page anymore.
+    connection.discardDeferredErrors(this);
     listeners.notify(EventType.CLOSE, this);
   }
 
+  /**
+   * Brings the page back to a blank state so that a pool can hand it out again: removes
+   * listeners, routes and default timeouts and navigates to about:blank. Returns false if
+   * the page can't be reused, e.g. bindings and init scripts can't be removed.
+   */
+  boolean resetForReuse() {
+    if (isClosed || !bindings.isEmpty() || hasInitScripts || ownedContext != null) {
+      return false;
+    }
+    boolean hadFileChooserListeners = listeners.hasListeners(EventType.FILECHOOSER);
+    listeners.clear();
+    if (hadFileChooserListeners) {
+      updateFileChooserInterception(false);
+    }
+    if (routes.size() != 0) {
+      routes.clear();
+      JsonObject params = new JsonObject();
+      params.addProperty("enabled", false);
+      sendMessage("setNetworkInterceptionEnabled", params);
+    }
+    timeoutSettings.reset();
+    navigate("about:blank");
+    return true;
+  }
+
   private void willAddFileChooserListener() {
     if (!listeners.hasListeners(EventType.FILECHOOSER)) {
       updateFileChooserInterception(true);
@@ -566,6 +649,7 @@ public class PageImpl extends ChannelOwner implements Page {
   private void addInitScriptImpl(String script) {
     JsonObject params = new JsonObject();
     params.addProperty("source", script);
+    hasInitScripts = true;
     sendMessage("addInitScript", params);
   }
 
@@ -797,6 +881,10 @@ public class PageImpl extends ChannelOwner implements Page {
     return isClosed;
   }
 
+  int listenerQueueLength() {
+    return listenerExecutor == null ? 0 : listenerExecutor.queueLength();
+  }
+
   @Override
   public boolean isDisabled(String selector, IsDisabledOptions options) {
     return withLogging("Page.isDisabled",
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PagePool;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class PagePoolImpl implements PagePool {
+  private final BrowserContextImpl context;
+  private final int maxUses;
+  private final long idleTimeoutNanos;
+  // Most recently released first, so that the pages at the tail are the ones idle the longest.
+  private final ArrayDeque<Entry> idle = new ArrayDeque<>();
+  private final Map<Page, Entry> leased = new IdentityHashMap<>();
+  private long createdCount;
+  // Closes pages that stay idle while nobody calls acquire or release.
+  private TimerWheel.Timer sweepTimer;
+  private boolean isClosed;
+
+  private static class Entry {
+    final PageImpl page;
+    int uses;
+    long releasedAt;
+
+    Entry(PageImpl page) {
+      this.page = page;
+    }
+  }
+
+  public PagePoolImpl(BrowserContext context, Options options) {
+    if (options == null) {
+      options = new Options();
+    }
+    this.context = (BrowserContextImpl) context;
+    this.maxUses = options.maxUses == null ? 50 : options.maxUses;
+    this.idleTimeoutNanos = options.idleTimeout == null ? TimeUnit.SECONDS.toNanos(30) : options.idleTimeout.toNanos();
+  }
+
+  @Override
+  public Page acquire() {
+    Entry entry;
+    List<PageImpl> expired;
+    synchronized (this) {
+      if (isClosed) {
+        throw new PlaywrightException("Pool has been closed");
+      }
+      expired = takeExpiredPages();
+      do {
+        entry = idle.poll();
+      } while (entry != null && entry.page.isClosed());
+    }
+    closeQuietly(expired);
+    if (entry == null) {
+      entry = new Entry(context.newPage());
+      synchronized (this) {
+        ++createdCount;
+      }
+    }
+    synchronized (this) {
+      ++entry.uses;
+      leased.put(entry.page, entry);
+    }
+    return entry.page;
+  }
+
+  @Override
+  public void release(Page page) {
+    Entry entry = takeLeased(page);
+    boolean isReusable = !isClosed() && entry.uses < maxUses;
+    if (isReusable) {
+      try {
+        isReusable = entry.page.resetForReuse();
+      } catch (PlaywrightException e) {
+        isReusable = false;
+      }
+    }
+    if (!isReusable) {
+      closeQuietly(entry.page);
+      return;
+    }
+    List<PageImpl> expired;
+    synchronized (this) {
+      entry.releasedAt = System.nanoTime();
+      idle.push(entry);
+      expired = takeExpiredPages();
+      scheduleSweep();
+    }
+    closeQuietly(expired);
+  }
+
+  @Override
+  public void discard(Page page) {
+    closeQuietly(takeLeased(page).page);
+  }
+
+  @Override
+  public synchronized int idleCount() {
+    return idle.size();
+  }
+
+  @Override
+  public synchronized int leasedCount() {
+    return leased.size();
+  }
+
+  @Override
+  public synchronized long createdCount() {
+    return createdCount;
+  }
+
+  @Override
+  public void close() {
+    ArrayDeque<Entry> pages;
+    synchronized (this) {
+      isClosed = true;
+      pages = new ArrayDeque<>(idle);
+      idle.clear();
+      if (sweepTimer != null) {
+        sweepTimer.cancel();
+        sweepTimer = null;
+      }
+    }
+    for (Entry entry : pages) {
+      closeQuietly(entry.page);
+    }
+  }
+
+  private synchronized boolean isClosed() {
+    return isClosed;
+  }
+
+  private synchronized Entry takeLeased(Page page) {
+    Entry entry = leased.remove(page);
+    if (entry == null) {
+      throw new PlaywrightException("Page doesn't belong to this pool");
+    }
+    return entry;
+  }
+
+  // Shrinks the pool when demand goes down. Must be called while holding the lock, the pages
+  // are closed by the caller after releasing it.
+  private List<PageImpl> takeExpiredPages() {
+    List<PageImpl> expired = new ArrayList<>();
+    long now = System.nanoTime();
+    while (!idle.isEmpty() && now - idle.peekLast().releasedAt > idleTimeoutNanos) {
+      expired.add(idle.pollLast().page);
+    }
+    return expired;
+  }
+
+  // Must be called while holding the lock.
+  private void scheduleSweep() {
+    if (sweepTimer != null || idle.isEmpty() || isClosed) {
+      return;
+    }
+    long expiresIn = idle.peekLast().releasedAt + idleTimeoutNanos - System.nanoTime();
+    sweepTimer = TimerWheel.instance().schedule(TimeUnit.NANOSECONDS.toMillis(Math.max(0, expiresIn)) + 1, this::sweep);
+  }
+
+  // Runs on the timer thread which must not block, so the pages are closed without waiting
+  // for the reply.
+  private void sweep() {
+    List<PageImpl> expired;
+    synchronized (this) {
+      sweepTimer = null;
+      expired = takeExpiredPages();
+      scheduleSweep();
+    }
+    for (PageImpl page : expired) {
+      try {
+        page.sendMessageAsync("close", new JsonObject());
+      } catch (PlaywrightException e) {
+        // Connection has already gone.
+      }
+    }
+  }
+
+  private static void closeQuietly(List<PageImpl> pages) {
+    for (PageImpl page : pages) {
+      closeQuietly(page);
+    }
+  }
+
+  private static void closeQuietly(PageImpl page) {
+    try {
+      page.close();
+    } catch (PlaywrightException e) {
+      // Context has already gone.
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.microsoft.playwright.impl.Utils.isSafeCloseError;
+
+public class PageWorkQueueImpl implements PageWorkQueue {
+  private final List<Browser> browsers;
+  private final int maxPerHost;
+  private final int maxRetries;
+  private final Double navigationTimeout;
+  private final Browser.NewContextOptions contextOptions;
+  private final List<Thread> workers = new ArrayList<>();
+  // Workers start at the same time, their contexts are created one at a time.
+  private final Object contextLock = new Object();
+  private final LinkedList<Job<?>> pending = new LinkedList<>();
+  private final Map<String, Integer> runningByHost = new HashMap<>();
+  private final long createdAt = System.nanoTime();
+  private long completedCount;
+  private long failedCount;
+  private long retriedCount;
+  private long totalLatencyNanos;
+  private boolean isClosed;
+
+  private static class Job<T> {
+    final String url;
+    final String host;
+    final Function<Page, T> task;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final long submittedAt = System.nanoTime();
+    int attempts;
+
+    Job(String url, Function<Page, T> task) {
+      this.url = url;
+      this.host = hostOf(url);
+      this.task = task;
+    }
+
+    void run(Page page) {
+      if (url != null) {
+        page.navigate(url);
+      }
+      result.complete(task.apply(page));
+    }
+  }
+
+  public PageWorkQueueImpl(List<Browser> browsers, Options options) {
+    if (browsers == null || browsers.isEmpty()) {
+      throw new PlaywrightException("At least one browser is required");
+    }
+    if (options == null) {
+      options = new Options();
+    }
+    this.browsers = new ArrayList<>(browsers);
+    this.maxPerHost = options.maxPerHost == null ? Integer.MAX_VALUE : options.maxPerHost;
+    this.maxRetries = options.maxRetries == null ? 2 : options.maxRetries;
+    this.navigationTimeout = options.navigationTimeout;
+    this.contextOptions = options.contextOptions;
+    int workerCount = options.workers == null ? 4 : options.workers;
+    if (workerCount <= 0) {
+      throw new PlaywrightException("workers must be positive, found: " + workerCount);
+    }
+    for (int i = 0; i < workerCount; i++) {
+      Browser browser = this.browsers.get(i % this.browsers.size());
+      Thread thread = new Thread(() -> runWorker(browser), "Playwright-PageWorker-" + (i + 1));
+      thread.setDaemon(true);
+      workers.add(thread);
+      thread.start();
+    }
+  }
+
+  @Override
+  public <T> CompletableFuture<T> submit(String url, Function<Page, T> task) {
+    Job<T> job = new Job<>(url, task);
+    synchronized (this) {
+      if (isClosed) {
+        throw new PlaywrightException("Queue has been closed");
+      }
+      pending.add(job);
+      notifyAll();
+    }
+    return job.result;
+  }
+
+  private void runWorker(Browser browser) {
+    BrowserContext context = null;
+    Page page = null;
+    try {
+      while (true) {
+        Job<?> job = takeJob();
+        if (job == null) {
+          return;
+        }
+        try {
+          if (page == null || page.isClosed()) {
+            closeQuietly(context);
+            synchronized (contextLock) {
+              context = browser.newContext(contextOptions);
+              page = context.newPage();
+            }
+            if (navigationTimeout != null) {
+              page.setDefaultNavigationTimeout(navigationTimeout);
+            }
+          }
+          job.run(page);
+          finished(job, null);
+        } catch (PlaywrightException e) {
+          if (isSafeCloseError(e)) {
+            // Start over with a fresh context on the next job.
+            page = null;
+          }
+          finished(job, e);
+        } catch (Throwable e) {
+          // Errors thrown by the task, e.g. failed assertions, must not take the worker down.
+          finished(job, e);
+        }
+      }
+    } finally {
+      closeQuietly(context);
+    }
+  }
+
+  // Returns the first pending job whose host is under the limit, waits if there is none.
+  private synchronized Job<?> takeJob() {
+    while (true) {
+      if (isClosed) {
+        return null;
+      }
+      for (Iterator<Job<?>> it = pending.iterator(); it.hasNext(); ) {
+        Job<?> job = it.next();
+        if (job.host == null || runningByHost.getOrDefault(job.host, 0) < maxPerHost) {
+          it.remove();
+          if (job.host != null) {
+            runningByHost.merge(job.host, 1, Integer::sum);
+          }
+          ++job.attempts;
+          return job;
+        }
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        return null;
+      }
+    }
+  }
+
+  private synchronized void finished(Job<?> job, Throwable error) {
+    if (job.host != null) {
+      int count = runningByHost.get(job.host) - 1;
+      if (count == 0) {
+        runningByHost.remove(job.host);
+      } else {
+        runningByHost.put(job.host, count);
+      }
+    }
+    if (error == null) {
+      ++completedCount;
+      totalLatencyNanos += System.nanoTime() - job.submittedAt;
+    } else if (error instanceof PlaywrightException && isSafeCloseError((PlaywrightException) error)
+      && job.attempts <= maxRetries && !isClosed) {
+      ++retriedCount;
+      pending.addFirst(job);
+    } else {
+      ++failedCount;
+      job.result.completeExceptionally(error);
+    }
+    notifyAll();
+  }
+
+  @Override
+  public synchronized int pendingCount() {
+    return pending.size();
+  }
+
+  @Override
+  public synchronized long completedCount() {
+    return completedCount;
+  }
+
+  @Override
+  public synchronized long failedCount() {
+    return failedCount;
+  }
+
+  @Override
+  public synchronized long retriedCount() {
+    return retriedCount;
+  }
+
+  @Override
+  public synchronized double averageLatencyMillis() {
+    return completedCount == 0 ? 0 : totalLatencyNanos / 1e6 / completedCount;
+  }
+
+  @Override
+  public synchronized double throughputPerSecond() {
+    double seconds = (System.nanoTime() - createdAt) / 1e9;
+    return seconds == 0 ? 0 : completedCount / seconds;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+      for (Job<?> job : pending) {
+        job.result.completeExceptionally(new PlaywrightException("Queue has been closed"));
+      }
+      pending.clear();
+      notifyAll();
+    }
+    for (Thread worker : workers) {
+      try {
+        worker.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PlaywrightException("Operation interrupted", e);
+      }
+    }
+  }
+
+  private static String hostOf(String url) {
+    if (url == null) {
+      return null;
+    }
+    try {
+      return new URL(url).getHost();
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  private static void closeQuietly(BrowserContext context) {
+    if (context == null) {
+      return;
+    }
+    try {
+      context.close();
+    } catch (PlaywrightException e) {
+      // Browser has already gone.
+    }
+  }
+}
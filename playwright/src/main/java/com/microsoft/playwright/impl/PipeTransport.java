@@ -16,6 +16,7 @@
 package com.microsoft.playwright.impl;
 
 import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.PlaywrightMetrics.Priority;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -26,33 +27,47 @@ import java.util.concurrent.TimeUnit;
 
 public class PipeTransport implements Transport {
   private final BlockingQueue<String> incoming = new ArrayBlockingQueue<>(1000);
-  private final BlockingQueue<String> outgoing= new ArrayBlockingQueue<>(1000);
+  private final OutgoingQueue outgoing = new OutgoingQueue(1000);
 
-  private final ReaderThread readerThread;
-  private final WriterThread writerThread;
+  private final MessageReader reader;
+  private final MessageWriter writer;
+  private final Thread writerThread;
 
   private boolean isClosed;
 
   PipeTransport(InputStream input, OutputStream output) {
     DataInputStream in = new DataInputStream(new BufferedInputStream(input));
-    readerThread = new ReaderThread(in, incoming);
-    readerThread.start();
-    writerThread = new WriterThread(output, outgoing);
-    writerThread.start();
+    reader = new MessageReader(in, incoming);
+    TransportThreads.start("Playwright-PipeReader", reader);
+    writer = new MessageWriter(output, outgoing);
+    writerThread = TransportThreads.start("Playwright-PipeWriter", writer);
   }
 
   @Override
   public void send(String message) {
+    send(message, Priority.INTERACTIVE);
+  }
+
+  @Override
+  public void send(String message, Priority priority) {
     if (isClosed) {
       throw new PlaywrightException("Playwright connection closed");
     }
     try {
-      outgoing.put(message);
+      outgoing.put(message, priority);
     } catch (InterruptedException e) {
       throw new PlaywrightException("Failed to send message", e);
     }
   }
 
+  public int outgoingQueueLength(Priority priority) {
+    return outgoing.size(priority);
+  }
+
+  public double averageOutgoingWaitMillis(Priority priority) {
+    return outgoing.averageWaitMillis(priority);
+  }
+
   @Override
   public String poll(Duration timeout) {
     if (isClosed) {
@@ -74,13 +89,13 @@ public class PipeTransport implements Transport {
     // We interrupt only the outgoing pipe and keep reader thread running as
     // otherwise child process may block on writing to its stdout and never
     // exit (observed on Windows).
-    readerThread.isClosing = true;
-    writerThread.out.close();
+    reader.isClosing = true;
+    writer.out.close();
     writerThread.interrupt();
   }
 }
 
-class ReaderThread extends Thread {
+class MessageReader implements Runnable {
   private final DataInputStream in;
   private final BlockingQueue<String> queue;
   volatile boolean isClosing;
@@ -97,18 +112,18 @@ class ReaderThread extends Thread {
     }
   }
 
-  ReaderThread(DataInputStream in, BlockingQueue<String> queue) {
+  MessageReader(DataInputStream in, BlockingQueue<String> queue) {
     this.in = in;
     this.queue = queue;
   }
 
   @Override
   public void run() {
-    while (!isInterrupted()) {
+    while (!Thread.currentThread().isInterrupted()) {
       try {
         queue.put(readMessage());
       } catch (IOException e) {
-        if (!isInterrupted() && !isClosing) {
+        if (!Thread.currentThread().isInterrupted() && !isClosing) {
           e.printStackTrace();
         }
         break;
@@ -126,9 +141,9 @@ class ReaderThread extends Thread {
   }
 }
 
-class WriterThread extends Thread {
+class MessageWriter implements Runnable {
   final OutputStream out;
-  private final BlockingQueue<String> queue;
+  private final OutgoingQueue queue;
 
   private static void writeIntLE(OutputStream out, int v) throws IOException {
     out.write(v >>> 0 & 255);
@@ -137,20 +152,20 @@ class WriterThread extends Thread {
     out.write(v >>> 24 & 255);
   }
 
-  WriterThread(OutputStream out, BlockingQueue<String> queue) {
+  MessageWriter(OutputStream out, OutgoingQueue queue) {
     this.out = out;
     this.queue = queue;
   }
 
   @Override
   public void run() {
-    while (!isInterrupted()) {
+    while (!Thread.currentThread().isInterrupted()) {
       try {
         if (queue.isEmpty())
           out.flush();
         sendMessage(queue.take());
       } catch (IOException e) {
-        if (!isInterrupted())
+        if (!Thread.currentThread().isInterrupted())
           e.printStackTrace();
         break;
       } catch (InterruptedException e) {
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class PlaywrightClusterImpl implements PlaywrightCluster {
+  private static final long MONITOR_INTERVAL_MS = 500;
+
+  private final String browserType;
+  private final BrowserType.LaunchOptions launchOptions;
+  private final List<Shard> shards = new ArrayList<>();
+  // Starts, restarts and stops driver processes.
+  private final ExecutorService starter;
+  private final Thread monitor;
+  private volatile boolean isClosed;
+
+  private static class Shard {
+    final int index;
+    volatile PlaywrightImpl playwright;
+    // Lazily launched browser shared by the contexts created via newContext().
+    BrowserImpl sharedBrowser;
+    // Placements that have been decided but whose objects don't exist yet.
+    int reserved;
+    int restarts;
+
+    Shard(int index) {
+      this.index = index;
+    }
+
+    boolean isRunning() {
+      PlaywrightImpl current = playwright;
+      return current != null && current.isDriverRunning();
+    }
+
+    int load() {
+      PlaywrightImpl current = playwright;
+      if (current == null) {
+        return reserved;
+      }
+      Connection connection = current.connection;
+      return reserved + connection.liveObjectCount("BrowserContext") + connection.liveObjectCount("Page") +
+        connection.inFlightCalls();
+    }
+  }
+
+  public PlaywrightClusterImpl(PlaywrightCluster.Options options) {
+    if (options == null) {
+      options = new PlaywrightCluster.Options();
+    }
+    int count = options.shards == null ? Runtime.getRuntime().availableProcessors() : options.shards;
+    if (count <= 0) {
+      throw new PlaywrightException("shards must be positive, found: " + count);
+    }
+    this.browserType = options.browserType == null ? "chromium" : options.browserType;
+    this.launchOptions = options.launchOptions;
+    starter = Utils.newDaemonThreadPool(count, "Playwright-ClusterStarter");
+    List<Future<PlaywrightImpl>> started = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      shards.add(new Shard(i));
+      started.add(starter.submit(() -> PlaywrightImpl.create()));
+    }
+    RuntimeException startError = null;
+    for (int i = 0; i < count; i++) {
+      try {
+        shards.get(i).playwright = started.get(i).get();
+      } catch (ExecutionException e) {
+        if (startError == null) {
+          startError = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+            : new PlaywrightException("Failed to launch driver", e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        startError = new PlaywrightException("Operation interrupted", e);
+      }
+    }
+    if (startError != null) {
+      close();
+      throw startError;
+    }
+    monitor = new Thread(this::monitorShards, "Playwright-ClusterMonitor");
+    monitor.setDaemon(true);
+    monitor.start();
+  }
+
+  @Override
+  public Browser launch(String browserType, BrowserType.LaunchOptions options) {
+    Shard shard = reserveShard();
+    try {
+      return shard.playwright.browserType(browserType == null ? this.browserType : browserType)
+        .launch(options == null ? launchOptions : options);
+    } finally {
+      unreserve(shard);
+    }
+  }
+
+  @Override
+  public BrowserContext newContext(Browser.NewContextOptions options) {
+    Shard shard = reserveShard();
+    try {
+      // Contexts on the shared browser are created one at a time.
+      synchronized (shard) {
+        if (shard.sharedBrowser == null || !shard.sharedBrowser.isConnected()) {
+          shard.sharedBrowser = shard.playwright.browserType(browserType).launch(launchOptions);
+        }
+        return shard.sharedBrowser.newContext(options);
+      }
+    } finally {
+      unreserve(shard);
+    }
+  }
+
+  @Override
+  public List<ShardStats> shardStats() {
+    List<ShardStats> result = new ArrayList<>();
+    for (Shard shard : shards) {
+      ShardStats stats = new ShardStats();
+      stats.index = shard.index;
+      stats.isRunning = shard.isRunning();
+      PlaywrightImpl playwright = shard.playwright;
+      if (playwright != null) {
+        Connection connection = playwright.connection;
+        stats.browsers = connection.liveObjectCount("Browser");
+        stats.contexts = connection.liveObjectCount("BrowserContext");
+        stats.pages = connection.liveObjectCount("Page");
+        stats.inFlightCalls = connection.inFlightCalls();
+      }
+      synchronized (this) {
+        stats.restarts = shard.restarts;
+        stats.load = shard.load();
+      }
+      result.add(stats);
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+    }
+    if (monitor != null) {
+      monitor.interrupt();
+    }
+    List<Future<?>> stopped = new ArrayList<>();
+    for (Shard shard : shards) {
+      PlaywrightImpl playwright = shard.playwright;
+      if (playwright != null) {
+        stopped.add(starter.submit(() -> closeQuietly(playwright)));
+      }
+    }
+    for (Future<?> future : stopped) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // closeQuietly doesn't throw.
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    starter.shutdown();
+  }
+
+  // For tests.
+  PlaywrightImpl shardPlaywright(int index) {
+    return shards.get(index).playwright;
+  }
+
+  private synchronized Shard reserveShard() {
+    if (isClosed) {
+      throw new PlaywrightException("Cluster has been closed");
+    }
+    Shard best = null;
+    int bestLoad = Integer.MAX_VALUE;
+    for (Shard shard : shards) {
+      if (!shard.isRunning()) {
+        continue;
+      }
+      int load = shard.load();
+      if (load < bestLoad) {
+        best = shard;
+        bestLoad = load;
+      }
+    }
+    if (best == null) {
+      throw new PlaywrightException("No running Playwright drivers in the cluster");
+    }
+    ++best.reserved;
+    return best;
+  }
+
+  private synchronized void unreserve(Shard shard) {
+    --shard.reserved;
+  }
+
+  private void monitorShards() {
+    while (!isClosed) {
+      try {
+        Thread.sleep(MONITOR_INTERVAL_MS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      for (Shard shard : shards) {
+        if (!isClosed && !shard.isRunning()) {
+          restart(shard);
+        }
+      }
+    }
+  }
+
+  private void restart(Shard shard) {
+    PlaywrightImpl crashed = shard.playwright;
+    synchronized (shard) {
+      shard.sharedBrowser = null;
+    }
+    if (crashed != null) {
+      closeQuietly(crashed);
+    }
+    PlaywrightImpl playwright;
+    try {
+      playwright = PlaywrightImpl.create();
+    } catch (RuntimeException e) {
+      // Try again on the next round.
+      shard.playwright = null;
+      return;
+    }
+    synchronized (this) {
+      ++shard.restarts;
+      if (!isClosed) {
+        shard.playwright = playwright;
+        return;
+      }
+    }
+    closeQuietly(playwright);
+  }
+
+  private static void closeQuietly(PlaywrightImpl playwright) {
+    try {
+      playwright.close();
+    } catch (RuntimeException e) {
+      // Driver has already gone.
+    }
+  }
+}
@@ -17,18 +17,24 @@
 package com.microsoft.playwright.impl;
 
 import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.Selectors;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class PlaywrightImpl extends ChannelOwner implements Playwright {
   private Process driverProcess;
 
   public static PlaywrightImpl create() {
+    return create(null);
+  }
+
+  public static PlaywrightImpl create(CreateOptions options) {
     try {
       Path driver = Driver.ensureDriverInstalled();
       ProcessBuilder pb = new ProcessBuilder(driver.toString(), "run-driver");
@@ -38,6 +44,16 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
       Connection connection = new Connection(new PipeTransport(p.getInputStream(), p.getOutputStream()));
       PlaywrightImpl result = (PlaywrightImpl) connection.waitForObjectWithKnownName("Playwright");
       result.driverProcess = p;
+      if (options != null && options.prelaunch != null) {
+        try {
+          for (Map.Entry<String, BrowserType.LaunchOptions> entry : options.prelaunch.entrySet()) {
+            result.browserType(entry.getKey()).prelaunch(entry.getValue());
+          }
+        } catch (RuntimeException e) {
+          result.close();
+          throw e;
+        }
+      }
       return result;
     } catch (IOException e) {
       throw new PlaywrightException("Failed to launch driver", e);
@@ -58,6 +74,15 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
     sharedSelectors.addChannel(channel);
   }
 
+  BrowserTypeImpl browserType(String name) {
+    switch (name) {
+      case "chromium": return chromium;
+      case "firefox": return firefox;
+      case "webkit": return webkit;
+      default: throw new PlaywrightException("Unknown browser type: " + name);
+    }
+  }
+
   @Override
   public BrowserTypeImpl chromium() {
     return chromium;
@@ -78,6 +103,18 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
     return sharedSelectors;
   }
 
+  /**
+   * Whether the driver process is still running, used as a health check by pools.
+   */
+  public boolean isDriverRunning() {
+    return driverProcess != null && driverProcess.isAlive();
+  }
+
+  // Simulates a driver crash, for tests.
+  void killDriver() {
+    driverProcess.destroyForcibly();
+  }
+
   @Override
   public void close() {
     try {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightMetrics;
+
+import java.util.Map;
+
+public class PlaywrightMetricsImpl implements PlaywrightMetrics {
+  private final Connection connection;
+
+  public PlaywrightMetricsImpl(Playwright playwright) {
+    connection = ((PlaywrightImpl) playwright).connection;
+  }
+
+  @Override
+  public int pendingTimers() {
+    return TimerWheel.instance().pendingTimers();
+  }
+
+  @Override
+  public int outgoingQueueLength(Priority priority) {
+    return connection.outgoingQueueLength(priority);
+  }
+
+  @Override
+  public double averageOutgoingWaitMillis(Priority priority) {
+    return connection.averageOutgoingWaitMillis(priority);
+  }
+
+  @Override
+  public int inFlightCalls() {
+    return connection.inFlightCalls();
+  }
+
+  @Override
+  public long oldestInFlightCallAgeMillis() {
+    return connection.oldestInFlightCallAgeMillis();
+  }
+
+  @Override
+  public int callsWaitingForAdmission() {
+    return connection.callsWaitingForAdmission();
+  }
+
+  @Override
+  public double averageAdmissionWaitMillis() {
+    return connection.averageAdmissionWaitMillis();
+  }
+
+  @Override
+  public double maxAdmissionWaitMillis() {
+    return connection.maxAdmissionWaitMillis();
+  }
+
+  @Override
+  public Map<String, Integer> liveObjectCounts() {
+    return connection.liveObjectCounts();
+  }
+
+  @Override
+  public int listenerQueueLength(Page page) {
+    return ((PageImpl) page).listenerQueueLength();
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.PlaywrightPool;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class PlaywrightPoolImpl implements PlaywrightPool {
+  private static class Entry {
+    final PlaywrightImpl playwright;
+    final long createdAt = System.nanoTime();
+    int uses;
+
+    Entry(PlaywrightImpl playwright) {
+      this.playwright = playwright;
+    }
+  }
+
+  private final int maxUses;
+  private final long maxAgeNanos;
+  private final LinkedBlockingQueue<Entry> idle = new LinkedBlockingQueue<>();
+  private final Map<Playwright, Entry> leased = new IdentityHashMap<>();
+  // Starts and stops driver processes off the caller's thread.
+  private final ExecutorService warmer;
+  // Starts that may not have run yet, cancelled on close.
+  private final List<Future<?>> pendingStarts = new ArrayList<>();
+  // Instances that failed to start since a caller was last told, with the first failure.
+  private int failedStarts;
+  private RuntimeException startError;
+  private long acquiredCount;
+  private long totalWaitNanos;
+  private long maxWaitNanos;
+  private long recycledCount;
+  private boolean isClosed;
+
+  public PlaywrightPoolImpl(Options options) {
+    if (options == null) {
+      options = new Options();
+    }
+    int size = options.size == null ? 2 : options.size;
+    if (size <= 0) {
+      throw new PlaywrightException("size must be positive, found: " + size);
+    }
+    this.maxUses = options.maxUses == null ? Integer.MAX_VALUE : options.maxUses;
+    this.maxAgeNanos = options.maxAge == null ? Long.MAX_VALUE : options.maxAge.toNanos();
+    warmer = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "Playwright-PoolWarmer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < size; i++) {
+      scheduleStart();
+    }
+  }
+
+  @Override
+  public Playwright acquire() {
+    long start = System.nanoTime();
+    while (true) {
+      // A failed start is only reported when there is nothing to hand out.
+      Entry entry = idle.poll();
+      if (entry == null) {
+        RuntimeException error = takeStartError();
+        if (error != null) {
+          throw new PlaywrightException("Failed to start Playwright driver: " + error.getMessage(), error);
+        }
+        try {
+          entry = idle.poll(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new PlaywrightException("Operation interrupted", e);
+        }
+      }
+      synchronized (this) {
+        if (isClosed) {
+          if (entry != null) {
+            closeQuietly(entry.playwright);
+          }
+          throw new PlaywrightException("Pool has been closed");
+        }
+        if (entry == null) {
+          continue;
+        }
+        if (!entry.playwright.isDriverRunning()) {
+          replace(entry);
+          continue;
+        }
+        long waitNanos = System.nanoTime() - start;
+        ++acquiredCount;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        ++entry.uses;
+        leased.put(entry.playwright, entry);
+        return entry.playwright;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void release(Playwright playwright) {
+    Entry entry = leased.remove(playwright);
+    if (entry == null) {
+      throw new PlaywrightException("Playwright instance doesn't belong to this pool");
+    }
+    if (isClosed) {
+      closeQuietly(entry.playwright);
+      return;
+    }
+    boolean isUsedUp = entry.uses >= maxUses || System.nanoTime() - entry.createdAt >= maxAgeNanos;
+    if (isUsedUp || !entry.playwright.isDriverRunning()) {
+      replace(entry);
+      return;
+    }
+    idle.add(entry);
+  }
+
+  @Override
+  public int idleCount() {
+    return idle.size();
+  }
+
+  @Override
+  public synchronized int leasedCount() {
+    return leased.size();
+  }
+
+  @Override
+  public synchronized long recycledCount() {
+    return recycledCount;
+  }
+
+  @Override
+  public synchronized double averageWaitMillis() {
+    return acquiredCount == 0 ? 0 : totalWaitNanos / 1e6 / acquiredCount;
+  }
+
+  @Override
+  public synchronized double maxWaitMillis() {
+    return maxWaitNanos / 1e6;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+      // Don't start drivers only to close them right away.
+      for (Future<?> start : pendingStarts) {
+        start.cancel(false);
+      }
+      pendingStarts.clear();
+    }
+    for (Entry entry = idle.poll(); entry != null; entry = idle.poll()) {
+      PlaywrightImpl playwright = entry.playwright;
+      warmer.execute(() -> closeQuietly(playwright));
+    }
+    warmer.shutdown();
+  }
+
+  private void replace(Entry entry) {
+    ++recycledCount;
+    warmer.execute(() -> closeQuietly(entry.playwright));
+    scheduleStart();
+  }
+
+  private synchronized void scheduleStart() {
+    pendingStarts.removeIf(Future::isDone);
+    pendingStarts.add(warmer.submit(this::startInstance));
+  }
+
+  private void startInstance() {
+    PlaywrightImpl playwright;
+    try {
+      playwright = PlaywrightImpl.create();
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        ++failedStarts;
+        if (startError == null) {
+          startError = e;
+        } else {
+          startError.addSuppressed(e);
+        }
+      }
+      return;
+    }
+    synchronized (this) {
+      if (!isClosed) {
+        idle.add(new Entry(playwright));
+        return;
+      }
+    }
+    closeQuietly(playwright);
+  }
+
+  // Reports the failures to one waiting caller and tries to start every failed instance again.
+  private synchronized RuntimeException takeStartError() {
+    RuntimeException error = startError;
+    if (error == null) {
+      return null;
+    }
+    if (!isClosed) {
+      for (int i = 0; i < failedStarts; i++) {
+        scheduleStart();
+      }
+    }
+    failedStarts = 0;
+    startError = null;
+    return error;
+  }
+
+  private static void closeQuietly(PlaywrightImpl playwright) {
+    try {
+      playwright.close();
+    } catch (PlaywrightException e) {
+      // Driver has already gone.
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.microsoft.playwright.impl;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.Frame;
@@ -29,12 +30,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class RequestImpl extends ChannelOwner implements Request {
-  private final byte[] postData;
-  private RequestImpl redirectedFrom;
+  RequestImpl redirectedFrom;
   private RequestImpl redirectedTo;
-  final Map<String, String> headers = new HashMap<>();
+  // Headers, post data and timing are parsed from the raw protocol values on first access
+  // as most requests are never inspected.
+  private volatile JsonArray rawHeaders;
+  private volatile Map<String, String> headers;
+  private volatile byte[] postData;
+  private volatile JsonElement rawTiming;
+  private volatile Timing timing;
   String failure;
-  Timing timing;
+  ResponseImpl receivedResponse;
 
   RequestImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -43,15 +49,24 @@ public class RequestImpl extends ChannelOwner implements Request {
       redirectedFrom = connection.getExistingObject(initializer.getAsJsonObject("redirectedFrom").get("guid").getAsString());
       redirectedFrom.redirectedTo = this;
     }
-    for (JsonElement e : initializer.getAsJsonArray("headers")) {
+    rawHeaders = initializer.getAsJsonArray("headers");
+  }
+
+  // Called when the response arrives with the actual headers sent over the network.
+  void setResponseData(JsonArray requestHeaders, JsonElement timing) {
+    headers = null;
+    rawHeaders = requestHeaders;
+    this.timing = null;
+    rawTiming = timing;
+  }
+
+  static Map<String, String> parseHeaders(JsonArray array) {
+    Map<String, String> result = new HashMap<>();
+    for (JsonElement e : array) {
       JsonObject item = e.getAsJsonObject();
-      headers.put(item.get("name").getAsString().toLowerCase(), item.get("value").getAsString());
-    }
-    if (initializer.has("postData")) {
-      postData = Base64.getDecoder().decode(initializer.get("postData").getAsString());
-    } else {
-      postData = null;
+      result.put(item.get("name").getAsString().toLowerCase(), item.get("value").getAsString());
     }
+    return result;
   }
 
   @Override
@@ -66,7 +81,16 @@ public class RequestImpl extends ChannelOwner implements Request {
 
   @Override
   public Map<String, String> headers() {
-    return headers;
+    Map<String, String> result = headers;
+    if (result == null) {
+      JsonArray raw = rawHeaders;
+      result = parseHeaders(raw);
+      // Don't publish if the response has replaced the headers meanwhile.
+      if (raw == rawHeaders) {
+        headers = result;
+      }
+    }
+    return result;
   }
 
   @Override
@@ -81,14 +105,18 @@ public class RequestImpl extends ChannelOwner implements Request {
 
   @Override
   public String postData() {
-    if (postData == null) {
+    byte[] buffer = postDataBuffer();
+    if (buffer == null) {
       return null;
     }
-    return new String(postData, StandardCharsets.UTF_8);
+    return new String(buffer, StandardCharsets.UTF_8);
   }
 
   @Override
   public byte[] postDataBuffer() {
+    if (postData == null && initializer.has("postData")) {
+      postData = Base64.getDecoder().decode(initializer.get("postData").getAsString());
+    }
     return postData;
   }
 
@@ -110,6 +138,9 @@ public class RequestImpl extends ChannelOwner implements Request {
   @Override
   public Response response() {
     return withLogging("Request.response", () -> {
+      if (receivedResponse != null) {
+        return receivedResponse;
+      }
       JsonObject result = sendMessage("response").getAsJsonObject();
       if (!result.has("response")) {
         return null;
@@ -120,7 +151,16 @@ public class RequestImpl extends ChannelOwner implements Request {
 
   @Override
   public Timing timing() {
-    return timing;
+    Timing result = timing;
+    if (result == null) {
+      JsonElement raw = rawTiming;
+      if (raw == null) {
+        return null;
+      }
+      result = Serialization.gson().fromJson(raw, Timing.class);
+      timing = result;
+    }
+    return result;
   }
 
   @Override
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Serves fresh responses from {@link ResponseCacheStore} for the requests that were not
+ * handled by any user route and records cacheable responses as they finish. Enabled per
+ * context with the playwright.responseCache.dir system property. The store is shared by all
+ * contexts and processes, so responses to credentialed requests and responses setting
+ * cookies are never recorded.
+ */
+class ResponseCache {
+  private static final Set<String> skippedHeaders = new HashSet<>(Arrays.asList(
+    "content-encoding", "content-length", "transfer-encoding", "set-cookie", "date", "age"));
+
+  private final ResponseCacheStore store;
+  private final Map<RequestImpl, ResponseImpl> pendingResponses = new HashMap<>();
+  private final Set<Request> servedFromCache = new HashSet<>();
+
+  ResponseCache(ResponseCacheStore store) {
+    this.store = store;
+  }
+
+  boolean handle(Route route) {
+    Request request = route.request();
+    if (!"GET".equals(request.method())) {
+      return false;
+    }
+    ResponseCacheStore.Entry entry = store.get(request.url());
+    if (entry == null || entry.expires <= System.currentTimeMillis()) {
+      return false;
+    }
+    Path blob = store.blobPath(entry);
+    try {
+      // Warm up the encoded body so that fulfill below doesn't fail on a missing file.
+      FulfillBodyCache.instance().get(blob);
+    } catch (PlaywrightException e) {
+      // Evicted by another process.
+      return false;
+    }
+    Route.FulfillOptions options = new Route.FulfillOptions()
+      .withStatus(entry.status)
+      .withHeaders(entry.headers)
+      .withPath(blob);
+    String contentType = entry.headers.get("content-type");
+    if (contentType != null) {
+      options.withContentType(contentType);
+    }
+    route.fulfill(options);
+    servedFromCache.add(request);
+    return true;
+  }
+
+  void onResponse(ResponseImpl response) {
+    RequestImpl request = response.request();
+    if (servedFromCache.remove(request)) {
+      return;
+    }
+    if (!"GET".equals(request.method()) || response.status() != 200) {
+      return;
+    }
+    Map<String, String> requestHeaders = request.headers();
+    if (requestHeaders.containsKey("authorization") || requestHeaders.containsKey("cookie") ||
+        requestHeaders.containsKey("range")) {
+      return;
+    }
+    Map<String, String> headers = response.headers();
+    if (headers.containsKey("set-cookie")) {
+      return;
+    }
+    String vary = headers.get("vary");
+    if (vary != null && !"accept-encoding".equalsIgnoreCase(vary.trim())) {
+      return;
+    }
+    long expires = expiresAt(headers);
+    if (expires <= System.currentTimeMillis()) {
+      return;
+    }
+    String etag = headers.get("etag");
+    if (etag != null) {
+      ResponseCacheStore.Entry existing = store.get(request.url());
+      if (existing != null && etag.equals(existing.etag)) {
+        // Same content, keep the stored body and only extend its lifetime.
+        existing.expires = expires;
+        store.refresh(existing);
+        return;
+      }
+    }
+    pendingResponses.put(request, response);
+  }
+
+  void onRequestFinished(RequestImpl request) {
+    ResponseImpl response = pendingResponses.remove(request);
+    if (response == null) {
+      return;
+    }
+    byte[] body;
+    try {
+      body = response.body();
+    } catch (PlaywrightException e) {
+      // Page went away before the body could be retrieved.
+      return;
+    }
+    ResponseCacheStore.Entry entry = new ResponseCacheStore.Entry();
+    entry.url = request.url();
+    entry.status = response.status();
+    entry.headers = new LinkedHashMap<>();
+    for (Map.Entry<String, String> header : response.headers().entrySet()) {
+      if (!skippedHeaders.contains(header.getKey())) {
+        entry.headers.put(header.getKey(), header.getValue());
+      }
+    }
+    entry.expires = expiresAt(response.headers());
+    entry.etag = response.headers().get("etag");
+    store.put(entry, body);
+  }
+
+  void onRequestFailed(RequestImpl request) {
+    pendingResponses.remove(request);
+    servedFromCache.remove(request);
+  }
+
+  private static long expiresAt(Map<String, String> headers) {
+    long now = System.currentTimeMillis();
+    String cacheControl = headers.get("cache-control");
+    if (cacheControl != null) {
+      Long maxAge = null;
+      for (String directive : cacheControl.toLowerCase().split(",")) {
+        directive = directive.trim();
+        if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+          return 0;
+        }
+        if (directive.startsWith("max-age=")) {
+          try {
+            maxAge = Long.parseLong(directive.substring("max-age=".length()).replace("\"", ""));
+          } catch (NumberFormatException e) {
+            return 0;
+          }
+        }
+      }
+      if (maxAge != null) {
+        return now + maxAge * 1000;
+      }
+    }
+    String expires = headers.get("expires");
+    if (expires == null) {
+      return 0;
+    }
+    try {
+      long expiresMillis = parseHttpDate(expires);
+      // Use the server clock to compute the lifetime if available.
+      String date = headers.get("date");
+      long dateMillis = date == null ? now : parseHttpDate(date);
+      return now + expiresMillis - dateMillis;
+    } catch (DateTimeParseException e) {
+      return 0;
+    }
+  }
+
+  private static long parseHttpDate(String value) {
+    return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonSyntaxException;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.microsoft.playwright.impl.Serialization.gson;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Content-addressed on-disk store of HTTP responses. Bodies are kept under blobs/ named
+ * by their SHA-256, per-URL metadata under entries/. All files are written to a temporary
+ * file and atomically renamed, so several JVMs can share the same directory. Entry
+ * modification time is used as the LRU access time.
+ */
+class ResponseCacheStore {
+  private static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+  // Blobs younger than this are never collected as they may belong to an entry that
+  // another process is about to write.
+  private static final long BLOB_GRACE_PERIOD_MS = 60_000;
+  private static final Map<Path, ResponseCacheStore> instances = new HashMap<>();
+
+  private final Path blobsDir;
+  private final Path entriesDir;
+  private final Path lockFile;
+  private final long maxBytes;
+  private long approximateSize = -1;
+
+  static class Entry {
+    String url;
+    int status;
+    Map<String, String> headers;
+    String blob;
+    long size;
+    long expires;
+    String etag;
+  }
+
+  static synchronized ResponseCacheStore fromSystemProperties() {
+    String dir = System.getProperty("playwright.responseCache.dir");
+    if (dir == null) {
+      return null;
+    }
+    Path root = Paths.get(dir).toAbsolutePath().normalize();
+    ResponseCacheStore store = instances.get(root);
+    if (store == null) {
+      String maxBytes = System.getProperty("playwright.responseCache.maxBytes");
+      store = new ResponseCacheStore(root, maxBytes == null ? DEFAULT_MAX_BYTES : Long.parseLong(maxBytes));
+      instances.put(root, store);
+    }
+    return store;
+  }
+
+  ResponseCacheStore(Path root, long maxBytes) {
+    this.blobsDir = root.resolve("blobs");
+    this.entriesDir = root.resolve("entries");
+    this.lockFile = root.resolve(".lock");
+    this.maxBytes = maxBytes;
+    try {
+      Files.createDirectories(blobsDir);
+      Files.createDirectories(entriesDir);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to create response cache directory: " + root, e);
+    }
+  }
+
+  /**
+   * Returns the entry for the url or {@code null} if there is none or its body has been evicted.
+   * Marks the entry as recently used.
+   */
+  Entry get(String url) {
+    Path entryPath = entriesDir.resolve(sha256(url.getBytes(UTF_8)));
+    Entry entry = readEntry(entryPath);
+    if (entry == null || !url.equals(entry.url)) {
+      return null;
+    }
+    if (!Files.exists(blobPath(entry))) {
+      deleteQuietly(entryPath);
+      return null;
+    }
+    try {
+      Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // Entry was evicted concurrently, it is still fine to use the blob we've found.
+    }
+    return entry;
+  }
+
+  Path blobPath(Entry entry) {
+    return blobsDir.resolve(entry.blob);
+  }
+
+  /**
+   * Updates freshness of an existing entry without touching its body, used when the server
+   * returned the same ETag.
+   */
+  void refresh(Entry entry) {
+    writeAtomically(entriesDir.resolve(sha256(entry.url.getBytes(UTF_8))), gson().toJson(entry).getBytes(UTF_8));
+  }
+
+  void put(Entry entry, byte[] body) {
+    entry.blob = sha256(body);
+    entry.size = body.length;
+    Path blob = blobsDir.resolve(entry.blob);
+    boolean isNewBlob = !Files.exists(blob);
+    if (isNewBlob) {
+      writeAtomically(blob, body);
+    }
+    refresh(entry);
+    if (isNewBlob) {
+      synchronized (this) {
+        if (approximateSize >= 0) {
+          approximateSize += body.length;
+        }
+      }
+      evictIfNeeded();
+    }
+  }
+
+  private void evictIfNeeded() {
+    synchronized (this) {
+      if (approximateSize < 0) {
+        approximateSize = totalBlobSize();
+      }
+      if (approximateSize <= maxBytes) {
+        return;
+      }
+    }
+    // Only one process evicts at a time, others skip and will try again after their next write.
+    try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+         FileLock lock = channel.tryLock()) {
+      if (lock == null) {
+        return;
+      }
+      long size = evict();
+      synchronized (this) {
+        approximateSize = size;
+      }
+    } catch (OverlappingFileLockException e) {
+      // Another store instance in this JVM is already evicting.
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to evict response cache entries", e);
+    }
+  }
+
+  private long evict() throws IOException {
+    List<Path> entries = list(entriesDir);
+    Map<Path, Long> accessTime = new HashMap<>();
+    for (Path path : entries) {
+      accessTime.put(path, lastModifiedMillis(path));
+    }
+    // Most recently used first.
+    entries.sort((a, b) -> Long.compare(accessTime.get(b), accessTime.get(a)));
+    Set<String> retainedBlobs = new HashSet<>();
+    long size = 0;
+    for (Path path : entries) {
+      Entry entry = readEntry(path);
+      if (entry == null) {
+        continue;
+      }
+      if (retainedBlobs.contains(entry.blob)) {
+        continue;
+      }
+      if (size + entry.size > maxBytes) {
+        deleteQuietly(path);
+        continue;
+      }
+      retainedBlobs.add(entry.blob);
+      size += entry.size;
+    }
+    long now = System.currentTimeMillis();
+    for (Path blob : list(blobsDir)) {
+      String name = blob.getFileName().toString();
+      if (retainedBlobs.contains(name) || now - lastModifiedMillis(blob) < BLOB_GRACE_PERIOD_MS) {
+        continue;
+      }
+      deleteQuietly(blob);
+    }
+    return size;
+  }
+
+  private long totalBlobSize() {
+    long size = 0;
+    for (Path blob : list(blobsDir)) {
+      try {
+        size += Files.size(blob);
+      } catch (IOException e) {
+        // Deleted concurrently.
+      }
+    }
+    return size;
+  }
+
+  private static Entry readEntry(Path path) {
+    try {
+      return gson().fromJson(new String(Files.readAllBytes(path), UTF_8), Entry.class);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | JsonSyntaxException e) {
+      deleteQuietly(path);
+      return null;
+    }
+  }
+
+  private static void writeAtomically(Path target, byte[] bytes) {
+    Path tmp = null;
+    try {
+      tmp = Files.createTempFile(target.getParent(), ".tmp-", "");
+      Files.write(tmp, bytes);
+      try {
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      if (tmp != null) {
+        deleteQuietly(tmp);
+      }
+      throw new PlaywrightException("Failed to write response cache file: " + target, e);
+    }
+  }
+
+  private static List<Path> list(Path dir) {
+    List<Path> result = new ArrayList<>();
+    try (Stream<Path> files = Files.list(dir)) {
+      files.filter(p -> !p.getFileName().toString().startsWith(".tmp-")).forEach(result::add);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to list response cache directory: " + dir, e);
+    }
+    return result;
+  }
+
+  private static long lastModifiedMillis(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // Ignore, the file will be collected on the next eviction.
+    }
+  }
+
+  static String sha256(byte[] bytes) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+      StringBuilder result = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        result.append(String.format("%02x", b));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new PlaywrightException("SHA-256 is not supported", e);
+    }
+  }
+}
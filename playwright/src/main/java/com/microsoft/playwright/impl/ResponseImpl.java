@@ -16,37 +16,26 @@
 
 package com.microsoft.playwright.impl;
 
-import com.google.gson.JsonElement;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.Frame;
 import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Response;
-import com.microsoft.playwright.options.Timing;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ResponseImpl extends ChannelOwner implements Response {
-  private final Map<String, String> headers = new HashMap<>();
+  // Parsed on first access.
+  private volatile Map<String, String> headers;
   private final RequestImpl request;
 
   ResponseImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
-
-    for (JsonElement e : initializer.getAsJsonArray("headers")) {
-      JsonObject item = e.getAsJsonObject();
-      headers.put(item.get("name").getAsString().toLowerCase(), item.get("value").getAsString());
-    }
-
     request = connection.getExistingObject(initializer.getAsJsonObject("request").get("guid").getAsString());
-    request.headers.clear();
-    for (JsonElement e : initializer.getAsJsonArray("requestHeaders")) {
-      JsonObject item = e.getAsJsonObject();
-      request.headers.put(item.get("name").getAsString().toLowerCase(), item.get("value").getAsString());
-    }
-    request.timing = Serialization.gson().fromJson(initializer.get("timing"), Timing.class);
+    request.receivedResponse = this;
+    request.setResponseData(initializer.getAsJsonArray("requestHeaders"), initializer.get("timing"));
   }
 
   @Override
@@ -75,6 +64,9 @@ public class ResponseImpl extends ChannelOwner implements Response {
 
   @Override
   public Map<String, String> headers() {
+    if (headers == null) {
+      headers = RequestImpl.parseHeaders(initializer.getAsJsonArray("headers"));
+    }
     return headers;
   }
 
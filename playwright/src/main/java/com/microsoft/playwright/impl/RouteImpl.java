@@ -21,14 +21,15 @@ import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Route;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class RouteImpl extends ChannelOwner implements Route {
+  // Set by the page when finished routes are dropped from the client maps.
+  volatile ObjectRetention retention;
+
   public RouteImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
   }
@@ -38,7 +39,7 @@ public class RouteImpl extends ChannelOwner implements Route {
     withLogging("Route.abort", () -> {
       JsonObject params = new JsonObject();
       params.addProperty("errorCode", errorCode);
-      sendMessage("abort", params);
+      sendRouteDecision("abort", params);
     });
   }
 
@@ -73,7 +74,7 @@ public class RouteImpl extends ChannelOwner implements Route {
       String base64 = Base64.getEncoder().encodeToString(bytes);
       params.addProperty("postData", base64);
     }
-    sendMessage("continue", params);
+    sendRouteDecision("continue", params);
   }
 
   @Override
@@ -90,15 +91,12 @@ public class RouteImpl extends ChannelOwner implements Route {
     String body = "";
     boolean isBase64 = false;
     int length = 0;
+    FulfillBodyCache.Body fileBody = null;
     if (options.path != null) {
-      try {
-         byte[] buffer = Files.readAllBytes(options.path);
-         body = Base64.getEncoder().encodeToString(buffer);
-         isBase64 = true;
-         length = buffer.length;
-      } catch (IOException e) {
-        throw new PlaywrightException("Failed to read from file: " + options.path, e);
-      }
+      fileBody = FulfillBodyCache.instance().get(options.path);
+      body = fileBody.base64;
+      isBase64 = true;
+      length = fileBody.length;
     } else if (options.body != null) {
       body = options.body;
       isBase64 = false;
@@ -117,8 +115,8 @@ public class RouteImpl extends ChannelOwner implements Route {
     }
     if (options.contentType != null) {
       headers.put("content-type", options.contentType);
-    } else if (options.path != null) {
-      headers.put("content-type", Utils.mimeType(options.path));
+    } else if (fileBody != null) {
+      headers.put("content-type", fileBody.contentType);
     }
     if (length != 0 && !headers.containsKey("content-length")) {
       headers.put("content-length", Integer.toString(length));
@@ -128,7 +126,21 @@ public class RouteImpl extends ChannelOwner implements Route {
     params.add("headers", Serialization.toProtocol(headers));
     params.addProperty("isBase64", isBase64);
     params.addProperty("body", body);
-    sendMessage("fulfill", params);
+    sendRouteDecision("fulfill", params);
+  }
+
+  private void sendRouteDecision(String method, JsonObject params) {
+    if (connection.deferRouteDecisions) {
+      RequestImpl request = (RequestImpl) request();
+      String frameGuid = request.initializer.getAsJsonObject("frame").get("guid").getAsString();
+      connection.sendMessageDeferred(guid, method, params, frameGuid);
+    } else {
+      sendMessage(method, params);
+    }
+    ObjectRetention retention = this.retention;
+    if (retention != null) {
+      retention.completed(this);
+    }
   }
 
   @Override
@@ -23,8 +23,9 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+// Copy on write, handlers run on a snapshot so routes may be changed from any thread, including from a handler.
 class Router {
-  private List<RouteInfo> routes = new ArrayList<>();
+  private volatile List<RouteInfo> routes = new ArrayList<>();
 
   private static class RouteInfo {
     final UrlMatcher matcher;
@@ -36,16 +37,22 @@ class Router {
     }
   }
 
-  void add(UrlMatcher matcher, Consumer<Route> handler) {
-    routes.add(new RouteInfo(matcher, handler));
+  synchronized void add(UrlMatcher matcher, Consumer<Route> handler) {
+    List<RouteInfo> newRoutes = new ArrayList<>(routes);
+    newRoutes.add(new RouteInfo(matcher, handler));
+    routes = newRoutes;
   }
 
-  void remove(UrlMatcher matcher, Consumer<Route> handler) {
+  synchronized void remove(UrlMatcher matcher, Consumer<Route> handler) {
     routes = routes.stream()
       .filter(info -> !info.matcher.equals(matcher) || (handler != null && info.handler != handler))
       .collect(Collectors.toList());
   }
 
+  synchronized void clear() {
+    routes = new ArrayList<>();
+  }
+
   int size() {
     return routes.size();
   }
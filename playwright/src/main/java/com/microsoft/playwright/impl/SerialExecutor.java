@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks one at a time in submission order on a shared pool. Each page delivers its
+ * user event listeners through its own instance, so listeners of one page keep their order
+ * while listeners of different pages run in parallel. The pool belongs to the connection and
+ * its size is set with the playwright.listenerThreads system property, without it listeners
+ * are called inline on the dispatch thread.
+ */
+class SerialExecutor implements Executor {
+  // Tasks run in one go before the pool thread is handed over to other pages.
+  private static final int MAX_TASKS_PER_TURN = 64;
+
+  private final Executor pool;
+  private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+  private boolean isScheduled;
+
+  static SerialExecutor forListeners(Connection connection) {
+    Executor pool = connection.listenerPool;
+    return pool == null ? null : new SerialExecutor(pool);
+  }
+
+  static ExecutorService createListenerPool() {
+    String threads = System.getProperty("playwright.listenerThreads");
+    if (threads == null) {
+      return null;
+    }
+    return Utils.newDaemonThreadPool(Integer.parseInt(threads), "Playwright-Listener");
+  }
+
+  SerialExecutor(Executor pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    synchronized (this) {
+      tasks.add(task);
+      if (isScheduled) {
+        return;
+      }
+      isScheduled = true;
+    }
+    schedule();
+  }
+
+  /**
+   * Number of tasks submitted but not started yet.
+   */
+  synchronized int queueLength() {
+    return tasks.size();
+  }
+
+  private void runTasks() {
+    for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+      Runnable task;
+      synchronized (this) {
+        task = tasks.poll();
+        if (task == null) {
+          isScheduled = false;
+          return;
+        }
+      }
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+    }
+    // Still scheduled, continue after the tasks of other pages.
+    schedule();
+  }
+
+  private void schedule() {
+    try {
+      pool.execute(this::runTasks);
+    } catch (RejectedExecutionException e) {
+      // Connection has been closed, nobody is listening anymore.
+      synchronized (this) {
+        tasks.clear();
+        isScheduled = false;
+      }
+    }
+  }
+}
@@ -38,6 +38,11 @@ class TimeoutSettings {
     defaultNavigationTimeout = timeout;
   }
 
+  void reset() {
+    defaultTimeout = null;
+    defaultNavigationTimeout = null;
+  }
+
   double timeout(Double timeout) {
     if (timeout != null) {
       return timeout;
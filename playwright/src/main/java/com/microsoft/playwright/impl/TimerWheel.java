@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel shared by all timeouts in the process. Timers are kept in doubly
+ * linked buckets so that cancellation is O(1), a single daemon thread advances the wheel
+ * every tick and runs each expired task exactly once. The thread parks while there are no
+ * timers.
+ */
+class TimerWheel {
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final int WHEEL_SIZE = 512;
+  private static TimerWheel instance;
+
+  class Timer {
+    private final Runnable task;
+    private long remainingRounds;
+    private Timer prev;
+    private Timer next;
+    private boolean isScheduled;
+
+    private Timer(Runnable task) {
+      this.task = task;
+    }
+
+    void cancel() {
+      synchronized (TimerWheel.this) {
+        if (isScheduled) {
+          unlink(this);
+        }
+      }
+    }
+  }
+
+  // Each bucket is a sentinel of a circular doubly linked list.
+  private final Timer[] buckets = new Timer[WHEEL_SIZE];
+  private final long startTime = System.nanoTime();
+  private long currentTick;
+  private int pendingCount;
+  private Thread thread;
+
+  static synchronized TimerWheel instance() {
+    if (instance == null) {
+      instance = new TimerWheel();
+    }
+    return instance;
+  }
+
+  private TimerWheel() {
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      Timer sentinel = new Timer(null);
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      buckets[i] = sentinel;
+    }
+  }
+
+  /**
+   * Schedules the task to run on the timer thread not earlier than in {@code delayMillis}.
+   */
+  synchronized Timer schedule(long delayMillis, Runnable task) {
+    if (thread == null) {
+      thread = new Thread(this::run, "Playwright-TimerWheel");
+      thread.setDaemon(true);
+      thread.start();
+    }
+    if (pendingCount == 0) {
+      // Nothing is in the buckets, skip the ticks that passed while the thread was parked.
+      currentTick = Math.max(currentTick, (System.nanoTime() - startTime) / TICK_NANOS);
+      notifyAll();
+    }
+    // Round up and add one tick since we may be in the middle of the current one.
+    long ticks = (TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis)) + TICK_NANOS - 1) / TICK_NANOS + 1;
+    Timer timer = new Timer(task);
+    timer.remainingRounds = (ticks - 1) / WHEEL_SIZE;
+    Timer sentinel = buckets[(int) ((currentTick + ticks) % WHEEL_SIZE)];
+    timer.prev = sentinel.prev;
+    timer.next = sentinel;
+    sentinel.prev.next = timer;
+    sentinel.prev = timer;
+    timer.isScheduled = true;
+    ++pendingCount;
+    return timer;
+  }
+
+  synchronized int pendingTimers() {
+    return pendingCount;
+  }
+
+  private void unlink(Timer timer) {
+    timer.prev.next = timer.next;
+    timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+    timer.isScheduled = false;
+    --pendingCount;
+  }
+
+  private void run() {
+    List<Runnable> expired = new ArrayList<>();
+    while (true) {
+      synchronized (this) {
+        while (pendingCount == 0) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            // The thread is private to the wheel, nobody should interrupt it. Keep running
+            // since schedule() only starts it once.
+          }
+        }
+        long targetTick = (System.nanoTime() - startTime) / TICK_NANOS;
+        while (currentTick < targetTick) {
+          ++currentTick;
+          Timer sentinel = buckets[(int) (currentTick % WHEEL_SIZE)];
+          for (Timer timer = sentinel.next; timer != sentinel; ) {
+            Timer next = timer.next;
+            if (timer.remainingRounds == 0) {
+              unlink(timer);
+              expired.add(timer.task);
+            } else {
+              --timer.remainingRounds;
+            }
+            timer = next;
+          }
+        }
+      }
+      for (Runnable task : expired) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+        }
+      }
+      expired.clear();
+      long sleepNanos = startTime + (currentTickSnapshot() + 1) * TICK_NANOS - System.nanoTime();
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          // See above.
+        }
+      }
+    }
+  }
+
+  private synchronized long currentTickSnapshot() {
+    return currentTick;
+  }
+}
@@ -16,11 +16,18 @@
 
 package com.microsoft.playwright.impl;
 
+import com.microsoft.playwright.PlaywrightMetrics.Priority;
+
 import java.io.IOException;
 import java.time.Duration;
 
 public interface Transport {
   void send(String message);
+
+  default void send(String message, Priority priority) {
+    send(message);
+  }
+
   String poll(Duration timeout);
   void close() throws IOException;
 }
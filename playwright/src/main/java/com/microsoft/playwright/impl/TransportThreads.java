@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+/**
+ * Starts the threads that move messages between the client and the driver process.
+ * Replaced in the Java 21 layer of the multi-release jar by a version that uses virtual
+ * threads.
+ */
+class TransportThreads {
+  static Thread start(String name, Runnable runnable) {
+    Thread thread = new Thread(runnable, name);
+    thread.start();
+    return thread;
+  }
+}
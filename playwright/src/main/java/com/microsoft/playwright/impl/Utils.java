@@ -28,6 +28,9 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class Utils {
   // TODO: generate converter.
@@ -171,4 +174,13 @@ class Utils {
     return error.endsWith("Browser has been closed") || error.endsWith("Target page, context or browser has been closed");
   }
 
+  static ExecutorService newDaemonThreadPool(int threads, String name) {
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
 }
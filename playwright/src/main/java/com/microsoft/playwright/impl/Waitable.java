@@ -22,6 +22,11 @@ interface Waitable<T> {
   boolean isDone();
   T get();
   void dispose();
+  /**
+   * Registers a callback to be run when the waitable becomes done. It may be run on the
+   * timer thread. Runs it immediately if the waitable is already done.
+   */
+  void onDone(Runnable signal);
   default <U> Waitable<U> apply(Function<T, U> transform) {
     return new WaitableAdapter<T, U>(this, transform);
   }
@@ -40,4 +40,9 @@ class WaitableAdapter<F, T> implements Waitable<T> {
   public void dispose() {
     waitable.dispose();
   }
+
+  @Override
+  public void onDone(Runnable signal) {
+    waitable.onDone(signal);
+  }
 }
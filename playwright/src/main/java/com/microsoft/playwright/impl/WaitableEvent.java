@@ -19,11 +19,12 @@ package com.microsoft.playwright.impl;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-class WaitableEvent<EventType, T> implements Waitable<T>, Consumer<T> {
+class WaitableEvent<EventType extends Enum<EventType>, T> implements Waitable<T>, Consumer<T> {
   final ListenerCollection<EventType> listeners;
   private final EventType type;
   private final Predicate<T> predicate;
-  private T eventArg;
+  private volatile T eventArg;
+  private volatile Runnable signal;
 
   WaitableEvent(ListenerCollection<EventType> listeners, EventType type) {
     this(listeners, type, null);
@@ -44,6 +45,9 @@ class WaitableEvent<EventType, T> implements Waitable<T>, Consumer<T> {
 
     this.eventArg = eventArg;
     dispose();
+    if (signal != null) {
+      signal.run();
+    }
   }
 
   @Override
@@ -56,6 +60,14 @@ class WaitableEvent<EventType, T> implements Waitable<T>, Consumer<T> {
     listeners.remove(type, this);
   }
 
+  @Override
+  public void onDone(Runnable signal) {
+    this.signal = signal;
+    if (isDone()) {
+      signal.run();
+    }
+  }
+
   @Override
   public T get() {
     return eventArg;
@@ -30,4 +30,8 @@ public class WaitableNever<T> implements Waitable<T> {
   @Override
   public void dispose() {
   }
+
+  @Override
+  public void onDone(Runnable signal) {
+  }
 }
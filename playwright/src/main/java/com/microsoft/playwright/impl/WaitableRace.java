@@ -53,4 +53,11 @@ class WaitableRace<T> implements Waitable<T> {
       w.dispose();
     }
   }
+
+  @Override
+  public void onDone(Runnable signal) {
+    for (Waitable<T> w : waitables) {
+      w.onDone(signal);
+    }
+  }
 }
@@ -21,7 +21,8 @@ import com.microsoft.playwright.PlaywrightException;
 class WaitableResult<T> implements Waitable<T> {
   private T result;
   private RuntimeException exception;
-  private boolean isDone;
+  private volatile boolean isDone;
+  private volatile Runnable signal;
 
   void complete(T result) {
     if (isDone) {
@@ -29,6 +30,9 @@ class WaitableResult<T> implements Waitable<T> {
     }
     this.result = result;
     isDone = true;
+    if (signal != null) {
+      signal.run();
+    }
   }
 
   void completeExceptionally(RuntimeException exception) {
@@ -37,6 +41,9 @@ class WaitableResult<T> implements Waitable<T> {
     }
     this.exception = exception;
     isDone = true;
+    if (signal != null) {
+      signal.run();
+    }
   }
 
   @Override
@@ -55,4 +62,12 @@ class WaitableResult<T> implements Waitable<T> {
   @Override
   public void dispose() {
   }
+
+  @Override
+  public void onDone(Runnable signal) {
+    this.signal = signal;
+    if (isDone) {
+      signal.run();
+    }
+  }
 }
@@ -19,17 +19,27 @@ package com.microsoft.playwright.impl;
 import com.microsoft.playwright.PlaywrightException;
 
 class WaitableTimeout<T> implements Waitable<T> {
-  private final long deadline;
   private final double timeout;
+  private final TimerWheel.Timer timer;
+  private volatile boolean isDone;
+  private volatile Runnable signal;
 
   WaitableTimeout(double millis) {
     timeout = millis;
-    deadline = System.nanoTime() + (long) millis * 1_000_000;
+    timer = TimerWheel.instance().schedule((long) millis, this::expire);
+  }
+
+  private void expire() {
+    isDone = true;
+    Runnable signal = this.signal;
+    if (signal != null) {
+      signal.run();
+    }
   }
 
   @Override
   public boolean isDone() {
-    return System.nanoTime() > deadline;
+    return isDone;
   }
 
   @Override
@@ -43,6 +53,14 @@ class WaitableTimeout<T> implements Waitable<T> {
 
   @Override
   public void dispose() {
+    timer.cancel();
   }
-}
 
+  @Override
+  public void onDone(Runnable signal) {
+    this.signal = signal;
+    if (isDone) {
+      signal.run();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+/**
+ * Java 21 version of the transport threads: pipe readers and writers spend all their time
+ * blocked on I/O or on a queue, so they run as virtual threads and many Playwright
+ * instances don't need a pair of platform threads each.
+ */
+class TransportThreads {
+  static Thread start(String name, Runnable runnable) {
+    return Thread.ofVirtual().name(name).start(runnable);
+  }
+}
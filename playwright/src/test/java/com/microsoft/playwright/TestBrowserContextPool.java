@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.options.Cookie;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBrowserContextPool extends TestBase {
+  @Test
+  void shouldCreateContextsWithGivenOptions() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context = pool.acquire(new Browser.NewContextOptions().withUserAgent("foobar"));
+      Page page = context.newPage();
+      assertEquals("foobar", page.evaluate("() => navigator.userAgent"));
+      pool.release(context);
+      BrowserContext other = pool.acquire();
+      assertNotEquals("foobar", other.newPage().evaluate("() => navigator.userAgent"));
+      pool.release(other);
+    }
+  }
+
+  @Test
+  void shouldResetReturnedContexts() throws InterruptedException {
+    BrowserContextPool.Options options = new BrowserContextPool.Options()
+      .withSize(1)
+      .withReturnPolicy(BrowserContextPool.ReturnPolicy.RESET);
+    try (BrowserContextPool pool = BrowserContextPool.create(browser, options)) {
+      BrowserContext context = pool.acquire();
+      Page page = context.newPage();
+      page.navigate(server.EMPTY_PAGE);
+      context.addCookies(asList(new Cookie("name", "value").withUrl(server.EMPTY_PAGE)));
+      context.route("**/*", route -> route.abort());
+      pool.release(context);
+      // Reset happens in the background.
+      for (int i = 0; i < 100 && pool.idleCount() == 0; i++) {
+        Thread.sleep(50);
+      }
+      // The returned context takes the only slot, nothing else is created.
+      assertEquals(1, pool.idleCount());
+      BrowserContext reused = pool.acquire();
+      assertSame(context, reused);
+      assertEquals(0, reused.pages().size());
+      assertEquals(0, reused.cookies().size());
+      Page newPage = reused.newPage();
+      assertEquals(200, newPage.navigate(server.EMPTY_PAGE).status());
+      pool.release(reused);
+    }
+  }
+
+  @Test
+  void shouldDiscardContexts() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context = pool.acquire();
+      pool.discard(context);
+      assertThrows(PlaywrightException.class, () -> pool.release(context));
+    }
+  }
+}
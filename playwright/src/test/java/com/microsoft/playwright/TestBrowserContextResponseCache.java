@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.options.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestBrowserContextResponseCache extends TestBase {
+  @AfterEach
+  void clearCacheProperty() {
+    System.clearProperty("playwright.responseCache.dir");
+  }
+
+  private AtomicInteger serveText(String path, String cacheControl) {
+    AtomicInteger requestCount = new AtomicInteger();
+    server.setRoute(path, exchange -> {
+      requestCount.incrementAndGet();
+      exchange.getResponseHeaders().add("Content-Type", "text/plain");
+      exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+      exchange.sendResponseHeaders(200, 0);
+      try (Writer writer = new OutputStreamWriter(exchange.getResponseBody())) {
+        writer.write("cached body");
+      }
+    });
+    return requestCount;
+  }
+
+  private String navigateInNewContext(String url) {
+    BrowserContext cachingContext = browser.newContext();
+    try {
+      Page cachingPage = cachingContext.newPage();
+      Response response = cachingPage.navigate(url);
+      response.finished();
+      return response.text();
+    } finally {
+      cachingContext.close();
+    }
+  }
+
+  @Test
+  void shouldServeFreshResponsesFromCacheInNewContexts(@TempDir Path cacheDir) {
+    System.setProperty("playwright.responseCache.dir", cacheDir.toString());
+    AtomicInteger requestCount = serveText("/cached.txt", "max-age=3600");
+    assertEquals("cached body", navigateInNewContext(server.PREFIX + "/cached.txt"));
+    assertEquals("cached body", navigateInNewContext(server.PREFIX + "/cached.txt"));
+    assertEquals(1, requestCount.get());
+  }
+
+  @Test
+  void shouldNotCacheNoStoreResponses(@TempDir Path cacheDir) {
+    System.setProperty("playwright.responseCache.dir", cacheDir.toString());
+    AtomicInteger requestCount = serveText("/no-store.txt", "no-store");
+    navigateInNewContext(server.PREFIX + "/no-store.txt");
+    navigateInNewContext(server.PREFIX + "/no-store.txt");
+    assertEquals(2, requestCount.get());
+  }
+
+  @Test
+  void shouldNotCacheResponsesToRequestsWithCookies(@TempDir Path cacheDir) {
+    System.setProperty("playwright.responseCache.dir", cacheDir.toString());
+    AtomicInteger requestCount = serveText("/private.txt", "max-age=3600");
+    for (String user : asList("alice", "bob")) {
+      BrowserContext userContext = browser.newContext();
+      try {
+        userContext.addCookies(asList(new Cookie("session", user).withUrl(server.EMPTY_PAGE)));
+        Response response = userContext.newPage().navigate(server.PREFIX + "/private.txt");
+        response.finished();
+      } finally {
+        userContext.close();
+      }
+    }
+    assertEquals(2, requestCount.get());
+  }
+
+  @Test
+  void shouldNotCacheResponsesSettingCookies(@TempDir Path cacheDir) {
+    System.setProperty("playwright.responseCache.dir", cacheDir.toString());
+    AtomicInteger requestCount = new AtomicInteger();
+    server.setRoute("/set-cookie.txt", exchange -> {
+      requestCount.incrementAndGet();
+      exchange.getResponseHeaders().add("Content-Type", "text/plain");
+      exchange.getResponseHeaders().add("Cache-Control", "max-age=3600");
+      exchange.getResponseHeaders().add("Set-Cookie", "session=" + requestCount.get());
+      exchange.sendResponseHeaders(200, 0);
+      try (Writer writer = new OutputStreamWriter(exchange.getResponseBody())) {
+        writer.write("cached body");
+      }
+    });
+    navigateInNewContext(server.PREFIX + "/set-cookie.txt");
+    navigateInNewContext(server.PREFIX + "/set-cookie.txt");
+    assertEquals(2, requestCount.get());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBrowserServer extends TestBase {
+  @BeforeAll
+  static void useTemporaryRegistry() throws IOException {
+    System.setProperty("playwright.browserServer.dir", Files.createTempDirectory("browser-servers").toString());
+  }
+
+  @AfterAll
+  static void clearRegistry() {
+    System.clearProperty("playwright.browserServer.dir");
+  }
+
+  @Test
+  void shouldStopLaunchedServerOnClose() {
+    BrowserServer server = BrowserServer.launch(browserType.name());
+    Browser remote = browserType.connect(server.wsEndpoint());
+    assertEquals(2021, remote.newPage().evaluate("() => 2021"));
+    server.close();
+    assertThrows(PlaywrightException.class, () -> browserType.connect(server.wsEndpoint()));
+  }
+
+  @Test
+  void shouldShareServerBetweenReferences() throws InterruptedException {
+    BrowserServer first = BrowserServer.shared(browserType.name());
+    BrowserServer second = BrowserServer.shared(browserType.name());
+    assertEquals(first.wsEndpoint(), second.wsEndpoint());
+    first.close();
+    Browser remote = browserType.connect(second.wsEndpoint());
+    assertEquals(2021, remote.newPage().evaluate("() => 2021"));
+    remote.close();
+    second.close();
+    String wsEndpoint = second.wsEndpoint();
+    for (int i = 0; i < 50; i++) {
+      try {
+        browserType.connect(wsEndpoint).close();
+      } catch (PlaywrightException e) {
+        return;
+      }
+      Thread.sleep(100);
+    }
+    fail("Server is still running after all references were closed");
+  }
+}
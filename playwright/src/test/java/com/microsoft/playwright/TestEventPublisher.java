@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEventPublisher extends TestBase {
+  private static class CollectingSubscriber<T> implements EventPublisher.Subscriber<T> {
+    final BlockingQueue<T> items = new LinkedBlockingQueue<>();
+    final CountDownLatch completed = new CountDownLatch(1);
+    final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+    private final long initialDemand;
+    EventPublisher.Subscription subscription;
+
+    CollectingSubscriber(long initialDemand) {
+      this.initialDemand = initialDemand;
+    }
+
+    @Override
+    public void onSubscribe(EventPublisher.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialDemand > 0) {
+        subscription.request(initialDemand);
+      }
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      errors.add(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      completed.countDown();
+    }
+  }
+
+  @Test
+  void shouldPublishRequests() throws InterruptedException {
+    CollectingSubscriber<Request> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+    EventPublisher.forRequests(page, null).subscribe(subscriber);
+    page.navigate(server.EMPTY_PAGE);
+    Request request = subscriber.items.poll(10, TimeUnit.SECONDS);
+    assertNotNull(request);
+    assertEquals(server.EMPTY_PAGE, request.url());
+  }
+
+  @Test
+  void shouldDeliverOnlyRequestedEvents() throws InterruptedException {
+    CollectingSubscriber<ConsoleMessage> subscriber = new CollectingSubscriber<>(1);
+    EventPublisher.forConsoleMessages(page, null).subscribe(subscriber);
+    page.evaluate("() => { console.log('one'); console.log('two'); }");
+    assertEquals("one", subscriber.items.poll(10, TimeUnit.SECONDS).text());
+    assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS));
+    subscriber.subscription.request(1);
+    assertEquals("two", subscriber.items.poll(10, TimeUnit.SECONDS).text());
+  }
+
+  @Test
+  void shouldDropNewestEventsWhenBufferIsFull() throws InterruptedException {
+    CollectingSubscriber<ConsoleMessage> subscriber = new CollectingSubscriber<>(0);
+    EventPublisher.forConsoleMessages(page, new EventPublisher.Options().withBufferSize(2)).subscribe(subscriber);
+    page.evaluate("() => { for (let i = 0; i < 5; i++) console.log('message ' + i); }");
+    page.evaluate("() => 1");
+    assertEquals(3, subscriber.subscription.droppedCount());
+    subscriber.subscription.request(10);
+    assertEquals("message 0", subscriber.items.poll(10, TimeUnit.SECONDS).text());
+    assertEquals("message 1", subscriber.items.poll(10, TimeUnit.SECONDS).text());
+  }
+
+  @Test
+  void shouldCompleteWhenPageCloses() throws InterruptedException {
+    CollectingSubscriber<Response> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+    EventPublisher.forResponses(page, null).subscribe(subscriber);
+    page.close();
+    assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldNotDeliverAfterCancelInOnSubscribe() throws InterruptedException {
+    CollectingSubscriber<ConsoleMessage> subscriber = new CollectingSubscriber<ConsoleMessage>(Long.MAX_VALUE) {
+      @Override
+      public void onSubscribe(EventPublisher.Subscription subscription) {
+        super.onSubscribe(subscription);
+        subscription.cancel();
+      }
+    };
+    EventPublisher.forConsoleMessages(page, null).subscribe(subscriber);
+    page.evaluate("() => console.log('hello')");
+    assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS));
+    assertEquals(0, subscriber.subscription.droppedCount());
+  }
+
+  @Test
+  void shouldReportNonPositiveRequest() throws InterruptedException {
+    CollectingSubscriber<ConsoleMessage> subscriber = new CollectingSubscriber<>(0);
+    EventPublisher.forConsoleMessages(page, null).subscribe(subscriber);
+    subscriber.subscription.request(0);
+    Throwable error = subscriber.errors.poll(10, TimeUnit.SECONDS);
+    assertTrue(error instanceof IllegalArgumentException, "" + error);
+    page.evaluate("() => console.log('hello')");
+    subscriber.subscription.request(1);
+    assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestExposeFunctionExecutor extends TestBase {
+  @BeforeAll
+  // Hide base class method to enable the binding executor before the driver connection is created.
+  static void launchBrowser() {
+    System.setProperty("playwright.bindingThreads", "4");
+    launchBrowser(createLaunchOptions());
+  }
+
+  @AfterAll
+  static void clearBindingThreads() {
+    System.clearProperty("playwright.bindingThreads");
+  }
+
+  @Test
+  void shouldRunBindingCallsConcurrently() {
+    CountDownLatch allStarted = new CountDownLatch(4);
+    page.exposeFunction("wait", args -> {
+      allStarted.countDown();
+      try {
+        // Only succeeds if all four calls are in flight at the same time.
+        return allStarted.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Object result = page.evaluate("async () => {\n" +
+      "  const results = await Promise.all([wait(), wait(), wait(), wait()]);\n" +
+      "  return results.every(r => r);\n" +
+      "}");
+    assertEquals(true, result);
+  }
+
+  @Test
+  void shouldReportErrors() {
+    page.exposeFunction("fail", args -> {
+      throw new RuntimeException("WOOF WOOF");
+    });
+    Object result = page.evaluate("async () => {\n" +
+      "  try {\n" +
+      "    await fail();\n" +
+      "  } catch (e) {\n" +
+      "    return e.message;\n" +
+      "  }\n" +
+      "}");
+    assertTrue(((String) result).contains("WOOF WOOF"), (String) result);
+  }
+
+  @Test
+  void shouldAllowApiCallsFromBinding() {
+    page.exposeBinding("pageUrl", (source, args) -> source.page().evaluate("() => location.href"));
+    page.navigate(server.EMPTY_PAGE);
+    assertEquals(server.EMPTY_PAGE, page.evaluate("() => pageUrl()"));
+  }
+
+  @Test
+  void shouldReadBindingThreadsPerInstance() {
+    page.exposeFunction("threadName", args -> Thread.currentThread().getName());
+    assertTrue(((String) page.evaluate("() => threadName()")).startsWith("Playwright-Binding"));
+
+    System.clearProperty("playwright.bindingThreads");
+    try (Playwright other = Playwright.create()) {
+      Browser otherBrowser = Utils.getBrowserTypeFromEnv(other).launch(createLaunchOptions());
+      Page otherPage = otherBrowser.newPage();
+      otherPage.exposeFunction("threadName", args -> Thread.currentThread().getName());
+      assertFalse(((String) otherPage.evaluate("() => threadName()")).startsWith("Playwright-Binding"));
+    } finally {
+      System.setProperty("playwright.bindingThreads", "4");
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInFlightCallLimit extends TestBase {
+  @BeforeAll
+  // Hide base class method to limit calls before the driver connection is created.
+  static void launchBrowser() {
+    System.setProperty("playwright.maxInFlightCalls", "2");
+    System.setProperty("playwright.maxInFlightCallsPerPage", "1");
+    launchBrowser(createLaunchOptions());
+  }
+
+  @AfterAll
+  static void clearLimits() {
+    System.clearProperty("playwright.maxInFlightCalls");
+    System.clearProperty("playwright.maxInFlightCallsPerPage");
+  }
+
+  @Test
+  void shouldCompleteConcurrentCallsFromManyPages() throws Exception {
+    List<Page> pages = new ArrayList<>();
+    pages.add(page);
+    pages.add(context.newPage());
+    pages.add(context.newPage());
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        Page p = pages.get(i % pages.size());
+        int value = i;
+        results.add(executor.submit(() -> p.evaluate("x => x * 2", value)));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals(i * 2, results.get(i).get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldNotHoldBackRouteDecisions() {
+    page.route("**/*", route -> route.resume());
+    assertEquals(200, page.navigate(server.EMPTY_PAGE).status());
+  }
+
+  private static void waitForAdmissionQueue(PlaywrightMetrics metrics, int expected) throws InterruptedException {
+    for (int i = 0; i < 500 && metrics.callsWaitingForAdmission() != expected; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, metrics.callsWaitingForAdmission());
+  }
+
+  @Test
+  void shouldHoldBackCallsOverPageLimitInOrder() throws Exception {
+    PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+    page.navigate(server.EMPTY_PAGE);
+    Page otherPage = context.newPage();
+    otherPage.navigate(server.EMPTY_PAGE);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      // Occupies the only slot of the page until the other page writes to the local storage.
+      Future<?> blocker = executor.submit(() -> page.evaluate("() => new Promise(f => window.addEventListener('storage', () => f(true)))"));
+      for (int i = 0; i < 500 && metrics.inFlightCalls() == 0; i++) {
+        Thread.sleep(10);
+      }
+      // Record the order in which the calls reach the page.
+      Future<?> first = executor.submit(() -> page.evaluate("() => (window.order = window.order || []).push('first')"));
+      waitForAdmissionQueue(metrics, 1);
+      Future<?> second = executor.submit(() -> page.evaluate("() => (window.order = window.order || []).push('second')"));
+      waitForAdmissionQueue(metrics, 2);
+      assertFalse(first.isDone());
+      assertFalse(second.isDone());
+
+      // The other page is under its own limit and is admitted right away.
+      while (!blocker.isDone()) {
+        otherPage.evaluate("() => localStorage.setItem('release', '' + Math.random())");
+        Thread.sleep(10);
+      }
+      first.get(30, TimeUnit.SECONDS);
+      second.get(30, TimeUnit.SECONDS);
+      assertEquals(asList("first", "second"), page.evaluate("() => window.order"));
+      assertEquals(0, metrics.callsWaitingForAdmission());
+      assertTrue(metrics.averageAdmissionWaitMillis() > 0);
+      assertTrue(metrics.maxAdmissionWaitMillis() >= metrics.averageAdmissionWaitMillis());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
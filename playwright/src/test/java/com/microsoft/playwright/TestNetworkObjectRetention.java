@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestNetworkObjectRetention extends TestBase {
+  @BeforeAll
+  // Hide base class method to enable the retention policy before the driver connection is created.
+  static void launchBrowser() {
+    System.setProperty("playwright.retention.maxObjects", "3");
+    launchBrowser(createLaunchOptions());
+  }
+
+  @AfterAll
+  static void clearRetention() {
+    System.clearProperty("playwright.retention.maxObjects");
+  }
+
+  private int liveObjects(String... types) {
+    Map<String, Integer> counts = PlaywrightMetrics.of(playwright).liveObjectCounts();
+    int result = 0;
+    for (String type : types) {
+      result += counts.getOrDefault(type, 0);
+    }
+    return result;
+  }
+
+  @Test
+  void shouldKeepReleasedRequestsUsable() {
+    List<Request> finished = new ArrayList<>();
+    page.onRequestFinished(finished::add);
+    page.navigate(server.EMPTY_PAGE);
+    page.evaluate("async () => {\n" +
+      "  for (let i = 0; i < 20; i++)\n" +
+      "    await fetch('/empty.html?' + i);\n" +
+      "}");
+    assertEquals(21, finished.size());
+    // The navigation request and its response are kept in addition to the limit.
+    assertTrue(liveObjects("Request", "Response") <= 3 + 2, PlaywrightMetrics.of(playwright).liveObjectCounts().toString());
+    Request first = finished.get(0);
+    assertEquals(server.EMPTY_PAGE, first.url());
+    assertNotNull(first.headers());
+    assertEquals(200, first.response().status());
+  }
+
+  @Test
+  void shouldKeepRedirectChainOfRetainedRequests() {
+    server.setRedirect("/foo.html", "/empty.html");
+    for (int i = 0; i < 10; i++) {
+      Response response = page.navigate(server.PREFIX + "/foo.html");
+      assertEquals(server.EMPTY_PAGE, response.url());
+      // The source of the redirect is released together with the final request, never before it.
+      assertEquals(server.PREFIX + "/foo.html", response.request().redirectedFrom().url());
+    }
+    // Up to 4 latest navigations with 2 requests and 2 responses each are kept in addition to the limit.
+    assertTrue(liveObjects("Request", "Response") <= 3 + 4 * 4, PlaywrightMetrics.of(playwright).liveObjectCounts().toString());
+  }
+
+  @Test
+  void shouldNavigateToPageWithManySubresources() {
+    server.setRoute("/images.html", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "text/html");
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStreamWriter writer = new OutputStreamWriter(exchange.getResponseBody())) {
+        for (int i = 0; i < 10; i++) {
+          writer.write("<img src='/empty.html?" + i + "'>");
+        }
+      }
+    });
+    List<Request> finished = new ArrayList<>();
+    page.onRequestFinished(finished::add);
+    // The main request finishes before the subresources and the goto reply comes after all of them.
+    Response response = page.navigate(server.PREFIX + "/images.html");
+    assertEquals(200, response.status());
+    assertTrue(response.request().isNavigationRequest());
+    assertTrue(finished.size() > 3, "" + finished.size());
+    Response reloaded = page.waitForNavigation(() -> page.evaluate("() => { location.reload(); }"));
+    assertEquals(server.PREFIX + "/images.html", reloaded.url());
+    assertTrue(liveObjects("Request", "Response") <= 3 + 2 * 2, PlaywrightMetrics.of(playwright).liveObjectCounts().toString());
+  }
+
+  @Test
+  void shouldReleaseRoutesOnlyAfterDecision() {
+    page.route("**/*", route -> {
+      // Decide after the handler has returned.
+      new Thread(() -> {
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        route.resume();
+      }).start();
+    });
+    for (int i = 0; i < 5; i++) {
+      assertEquals(200, page.navigate(server.EMPTY_PAGE + "?" + i).status());
+    }
+    assertTrue(liveObjects("Route") <= 3, PlaywrightMetrics.of(playwright).liveObjectCounts().toString());
+  }
+
+  @Test
+  void shouldReleaseConsoleMessages() {
+    List<String> messages = new ArrayList<>();
+    page.onConsoleMessage(message -> messages.add(message.text()));
+    page.evaluate("() => { for (let i = 0; i < 10; i++) console.log('' + i); }");
+    assertEquals(10, messages.size());
+    assertEquals("9", messages.get(9));
+    assertTrue(liveObjects("ConsoleMessage") <= 3, PlaywrightMetrics.of(playwright).liveObjectCounts().toString());
+  }
+}
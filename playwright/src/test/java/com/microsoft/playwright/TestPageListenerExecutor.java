@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPageListenerExecutor extends TestBase {
+  @BeforeAll
+  // Hide base class method to enable listener executors before the driver connection is created.
+  static void launchBrowser() {
+    System.setProperty("playwright.listenerThreads", "2");
+    launchBrowser(createLaunchOptions());
+  }
+
+  @AfterAll
+  static void clearListenerThreads() {
+    System.clearProperty("playwright.listenerThreads");
+  }
+
+  @Test
+  void shouldDeliverEventsOfOnePageInOrder() throws InterruptedException {
+    List<String> messages = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch done = new CountDownLatch(3);
+    page.onConsoleMessage(message -> {
+      messages.add(message.text());
+      done.countDown();
+    });
+    page.evaluate("() => { console.log('1'); console.log('2'); console.log('3'); }");
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(asList("1", "2", "3"), messages);
+  }
+
+  @Test
+  void shouldNotBlockOtherPagesOnSlowListener() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    page.onConsoleMessage(message -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Page otherPage = context.newPage();
+    CountDownLatch received = new CountDownLatch(1);
+    otherPage.onConsoleMessage(message -> received.countDown());
+    page.evaluate("() => { console.log('a'); console.log('b'); }");
+    otherPage.evaluate("() => console.log('c')");
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    // 'b' is waiting behind the blocked listener.
+    PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+    assertTrue(metrics.listenerQueueLength(page) >= 1);
+    release.countDown();
+    for (int i = 0; i < 100 && metrics.listenerQueueLength(page) != 0; i++) {
+      Thread.sleep(20);
+    }
+    assertEquals(0, metrics.listenerQueueLength(page));
+  }
+
+  @Test
+  void shouldAllowApiCallsFromListener() throws Exception {
+    CompletableFuture<String> body = new CompletableFuture<>();
+    page.onResponse(response -> {
+      try {
+        body.complete(response.text());
+      } catch (RuntimeException e) {
+        body.completeExceptionally(e);
+      }
+    });
+    server.setRoute("/text", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStreamWriter writer = new OutputStreamWriter(exchange.getResponseBody())) {
+        writer.write("hello");
+      }
+    });
+    page.navigate(server.PREFIX + "/text");
+    assertEquals("hello", body.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldReadListenerThreadsPerInstance() throws Exception {
+    CompletableFuture<String> listenerThread = new CompletableFuture<>();
+    page.onConsoleMessage(message -> listenerThread.complete(Thread.currentThread().getName()));
+    page.evaluate("() => console.log('hello')");
+    assertTrue(listenerThread.get(10, TimeUnit.SECONDS).startsWith("Playwright-Listener"));
+
+    System.clearProperty("playwright.listenerThreads");
+    try (Playwright other = Playwright.create()) {
+      Browser otherBrowser = Utils.getBrowserTypeFromEnv(other).launch(createLaunchOptions());
+      Page otherPage = otherBrowser.newPage();
+      CompletableFuture<String> inlineThread = new CompletableFuture<>();
+      otherPage.onConsoleMessage(message -> inlineThread.complete(Thread.currentThread().getName()));
+      otherPage.evaluate("() => console.log('hello')");
+      assertFalse(inlineThread.get(10, TimeUnit.SECONDS).startsWith("Playwright-Listener"));
+    } finally {
+      System.setProperty("playwright.listenerThreads", "2");
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPagePool extends TestBase {
+  @Test
+  void shouldReuseResetPages() {
+    try (PagePool pool = PagePool.create(context)) {
+      Page page = pool.acquire();
+      page.navigate(server.EMPTY_PAGE);
+      List<String> messages = new ArrayList<>();
+      page.onConsoleMessage(message -> messages.add(message.text()));
+      page.route("**/*", route -> route.abort());
+      pool.release(page);
+
+      Page reused = pool.acquire();
+      assertSame(page, reused);
+      assertEquals("about:blank", reused.url());
+      assertEquals(200, reused.navigate(server.EMPTY_PAGE).status());
+      reused.evaluate("() => console.log('hello')");
+      assertEquals(0, messages.size());
+      pool.release(reused);
+      assertEquals(1, pool.createdCount());
+    }
+  }
+
+  @Test
+  void shouldRetirePagesAfterMaxUses() {
+    try (PagePool pool = PagePool.create(context, new PagePool.Options().withMaxUses(2))) {
+      Page first = pool.acquire();
+      pool.release(first);
+      assertSame(first, pool.acquire());
+      pool.release(first);
+      assertTrue(first.isClosed());
+      assertNotSame(first, pool.acquire());
+      assertEquals(2, pool.createdCount());
+    }
+  }
+
+  @Test
+  void shouldNotReusePagesWithBindings() {
+    try (PagePool pool = PagePool.create(context)) {
+      Page page = pool.acquire();
+      page.exposeFunction("foo", args -> null);
+      pool.release(page);
+      assertTrue(page.isClosed());
+      assertEquals(0, pool.idleCount());
+    }
+  }
+
+  @Test
+  void shouldNotReusePagesWithInitScripts() {
+    try (PagePool pool = PagePool.create(context)) {
+      Page page = pool.acquire();
+      page.addInitScript("window.injected = 123");
+      pool.release(page);
+      assertTrue(page.isClosed());
+      assertEquals(0, pool.idleCount());
+    }
+  }
+
+  @Test
+  void shouldCloseIdlePagesWithoutFurtherCalls() throws InterruptedException {
+    try (PagePool pool = PagePool.create(context, new PagePool.Options().withIdleTimeout(Duration.ofMillis(100)))) {
+      Page page = pool.acquire();
+      pool.release(page);
+      assertEquals(1, pool.idleCount());
+      for (int i = 0; i < 100 && pool.idleCount() != 0; i++) {
+        Thread.sleep(50);
+      }
+      assertEquals(0, pool.idleCount());
+      // Round trips let the close event be dispatched.
+      for (int i = 0; i < 100 && !page.isClosed(); i++) {
+        context.cookies();
+        Thread.sleep(50);
+      }
+      assertTrue(page.isClosed());
+    }
+  }
+}
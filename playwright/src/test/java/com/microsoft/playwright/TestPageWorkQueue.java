@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPageWorkQueue extends TestBase {
+  @Test
+  void shouldRunTasksOnWorkerPages() {
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), new PageWorkQueue.Options().withWorkers(3))) {
+      List<CompletableFuture<String>> urls = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        urls.add(queue.submit(server.EMPTY_PAGE + "?" + i, Page::url));
+      }
+      for (int i = 0; i < 6; i++) {
+        assertEquals(server.EMPTY_PAGE + "?" + i, urls.get(i).join());
+      }
+      assertEquals(6, queue.completedCount());
+      assertEquals(0, queue.failedCount());
+      assertEquals(0, queue.pendingCount());
+      assertTrue(queue.averageLatencyMillis() > 0);
+    }
+  }
+
+  @Test
+  void shouldLimitTasksPerHost() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser),
+        new PageWorkQueue.Options().withWorkers(3).withMaxPerHost(1))) {
+      List<CompletableFuture<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(queue.submit(server.EMPTY_PAGE, page -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          page.waitForTimeout(50);
+          running.decrementAndGet();
+          return null;
+        }));
+      }
+      results.forEach(CompletableFuture::join);
+    }
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  void shouldRetryTasksWhosePageWasClosed() {
+    AtomicInteger attempts = new AtomicInteger();
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), new PageWorkQueue.Options().withWorkers(1))) {
+      CompletableFuture<String> result = queue.submit(server.EMPTY_PAGE, page -> {
+        if (attempts.incrementAndGet() == 1) {
+          page.close();
+          throw new PlaywrightException("Target page, context or browser has been closed");
+        }
+        return page.url();
+      });
+      assertEquals(server.EMPTY_PAGE, result.join());
+      assertEquals(1, queue.retriedCount());
+    }
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  void shouldFailTasksThatThrow() {
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), new PageWorkQueue.Options().withWorkers(1))) {
+      CompletableFuture<Object> result = queue.submit(null, page -> {
+        throw new IllegalStateException("boom");
+      });
+      CompletionException e = assertThrows(CompletionException.class, result::join);
+      assertTrue(e.getCause() instanceof IllegalStateException);
+      assertEquals(1, queue.failedCount());
+      assertEquals(0, queue.retriedCount());
+    }
+  }
+
+  @Test
+  void shouldKeepWorkerAfterTaskThrowsError() {
+    PageWorkQueue.Options options = new PageWorkQueue.Options().withWorkers(1).withMaxPerHost(1);
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), options)) {
+      CompletableFuture<Object> failed = queue.submit(server.EMPTY_PAGE, page -> {
+        throw new AssertionError("boom");
+      });
+      CompletionException e = assertThrows(CompletionException.class, failed::join);
+      assertTrue(e.getCause() instanceof AssertionError);
+      // The same worker runs the next task for the same host.
+      assertEquals(server.EMPTY_PAGE, queue.submit(server.EMPTY_PAGE, Page::url).join());
+      assertEquals(1, queue.failedCount());
+      assertEquals(1, queue.completedCount());
+    }
+  }
+
+  @Test
+  void shouldStartManyWorkersOnOneBrowser() {
+    int contextsBefore = browser.contexts().size();
+    Set<BrowserContext> used = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    try (PageWorkQueue queue = PageWorkQueue.create(asList(browser), new PageWorkQueue.Options().withWorkers(8))) {
+      List<CompletableFuture<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        results.add(queue.submit(null, page -> used.add(page.context())));
+      }
+      results.forEach(CompletableFuture::join);
+      assertTrue(used.size() <= 8, "contexts: " + used.size());
+    }
+    assertEquals(contextsBefore, browser.contexts().size());
+  }
+}
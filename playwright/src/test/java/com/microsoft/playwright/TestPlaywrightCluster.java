@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightCluster {
+  private static PlaywrightCluster.Options clusterOptions(int shards) {
+    String browserName = System.getenv("BROWSER");
+    return new PlaywrightCluster.Options().withShards(shards)
+      .withBrowserType(browserName == null ? "chromium" : browserName);
+  }
+
+  @Test
+  void shouldPlaceContextsOnLeastLoadedShard() {
+    try (PlaywrightCluster cluster = PlaywrightCluster.create(clusterOptions(2))) {
+      BrowserContext first = cluster.newContext();
+      first.newPage();
+      BrowserContext second = cluster.newContext();
+      second.newPage();
+      List<PlaywrightCluster.ShardStats> stats = cluster.shardStats();
+      assertEquals(2, stats.size());
+      for (PlaywrightCluster.ShardStats shard : stats) {
+        assertTrue(shard.isRunning);
+        assertEquals(1, shard.browsers);
+        assertEquals(1, shard.contexts);
+        assertEquals(1, shard.pages);
+        assertEquals(0, shard.restarts);
+      }
+      assertNotSame(first.browser(), second.browser());
+      assertEquals(2021, second.pages().get(0).evaluate("() => 2021"));
+    }
+  }
+
+  @Test
+  void shouldLaunchBrowsersOnDifferentShards() {
+    try (PlaywrightCluster cluster = PlaywrightCluster.create(clusterOptions(2))) {
+      Browser first = cluster.launch();
+      first.newPage();
+      Browser second = cluster.launch();
+      assertEquals(1, second.newPage().evaluate("() => 1"));
+      for (PlaywrightCluster.ShardStats shard : cluster.shardStats()) {
+        assertEquals(1, shard.browsers);
+      }
+    }
+  }
+
+  @Test
+  void shouldThrowAfterClose() {
+    PlaywrightCluster cluster = PlaywrightCluster.create(clusterOptions(1));
+    cluster.close();
+    PlaywrightException e = assertThrows(PlaywrightException.class, () -> cluster.newContext());
+    assertTrue(e.getMessage().contains("Cluster has been closed"));
+  }
+}
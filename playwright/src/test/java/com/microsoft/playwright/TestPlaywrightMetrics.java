@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.playwright.PlaywrightMetrics.Priority.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightMetrics extends TestBase {
+  @Test
+  void shouldReportOutgoingQueueMetrics() {
+    PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+    page.route("**/*", route -> route.fulfill(new Route.FulfillOptions().withBody("hello")));
+    page.navigate(server.EMPTY_PAGE);
+    page.screenshot();
+    for (PlaywrightMetrics.Priority priority : PlaywrightMetrics.Priority.values()) {
+      // Every call has been answered, so nothing can be left in the queue.
+      assertEquals(0, metrics.outgoingQueueLength(priority));
+      assertTrue(metrics.averageOutgoingWaitMillis(priority) >= 0);
+    }
+    // Outgoing messages are not held up while the writer is idle.
+    assertTrue(metrics.averageOutgoingWaitMillis(URGENT) < 1000);
+    assertTrue(metrics.averageOutgoingWaitMillis(BULK) < 1000);
+  }
+
+  @Test
+  void shouldReportAgeOfOldestCallInFlight() throws Exception {
+    PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+    assertEquals(0, metrics.oldestInFlightCallAgeMillis());
+    CompletableFuture<Object> result = CompletableFuture.supplyAsync(
+      () -> page.evaluate("() => new Promise(f => setTimeout(() => f(true), 1000))"));
+    for (int i = 0; i < 500 && metrics.oldestInFlightCallAgeMillis() < 300; i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(metrics.oldestInFlightCallAgeMillis() >= 300);
+    assertEquals(true, result.get(30, TimeUnit.SECONDS));
+    assertEquals(0, metrics.oldestInFlightCallAgeMillis());
+  }
+}
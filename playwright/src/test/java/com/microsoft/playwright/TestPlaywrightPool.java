@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightPool {
+  @Test
+  void shouldReuseInstances() {
+    try (PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.Options().withSize(1))) {
+      Playwright first = pool.acquire();
+      try (Browser browser = Utils.getBrowserTypeFromEnv(first).launch()) {
+        assertEquals(2021, browser.newPage().evaluate("() => 2021"));
+      }
+      pool.release(first);
+      Playwright second = pool.acquire();
+      assertSame(first, second);
+      pool.release(second);
+      assertEquals(0, pool.recycledCount());
+    }
+  }
+
+  @Test
+  void shouldRecycleAfterMaxUses() {
+    try (PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.Options().withSize(1).withMaxUses(1))) {
+      Playwright first = pool.acquire();
+      pool.release(first);
+      Playwright second = pool.acquire();
+      assertNotSame(first, second);
+      assertEquals(1, pool.recycledCount());
+      pool.release(second);
+    }
+  }
+
+  @Test
+  void shouldRejectForeignInstances() {
+    try (PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.Options().withSize(1));
+         Playwright playwright = Playwright.create()) {
+      assertThrows(PlaywrightException.class, () -> pool.release(playwright));
+    }
+  }
+}
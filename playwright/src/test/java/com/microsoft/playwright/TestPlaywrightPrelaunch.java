@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightPrelaunch {
+  private static String browserName() {
+    String browserName = System.getenv("BROWSER");
+    return browserName == null ? "chromium" : browserName;
+  }
+
+  @Test
+  void shouldIgnorePrelaunchedBrowserWithDifferentOptions() {
+    try (Playwright playwright = Playwright.create(new Playwright.CreateOptions()
+        .withPrelaunch(browserName(), new BrowserType.LaunchOptions().withSlowMo(1)))) {
+      Browser browser = Utils.getBrowserTypeFromEnv(playwright).launch();
+      assertEquals(2021, browser.newPage().evaluate("() => 2021"));
+    }
+  }
+
+  @Test
+  void shouldRejectUnknownBrowserType() {
+    PlaywrightException e = assertThrows(PlaywrightException.class,
+      () -> Playwright.create(new Playwright.CreateOptions().withPrelaunch("netscape", null)));
+    assertTrue(e.getMessage().contains("Unknown browser type: netscape"));
+  }
+}
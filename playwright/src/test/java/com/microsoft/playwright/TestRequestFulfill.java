@@ -18,10 +18,14 @@ package com.microsoft.playwright;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 
 import static com.microsoft.playwright.Utils.mapOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -103,5 +107,16 @@ public class TestRequestFulfill extends TestBase {
 //    expect(img.screenshot()).toMatchSnapshot("mock-svg.png");
   }
 
+  @Test
+  void shouldPickUpChangesOfTheFileToFulfillWith(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("body.txt");
+    Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+    page.route("**/*", route -> route.fulfill(new Route.FulfillOptions().withPath(file)));
+    assertEquals("first", page.navigate(server.EMPTY_PAGE).text());
+    assertEquals("first", page.navigate(server.EMPTY_PAGE).text());
 
+    Files.write(file, "second one".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+    assertEquals("second one", page.navigate(server.EMPTY_PAGE).text());
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRouteDeferredDecisions extends TestBase {
+  @BeforeAll
+  // Hide base class method to enable deferred route decisions before the driver connection is created.
+  static void launchBrowser() {
+    System.setProperty("playwright.deferRouteDecisions", "true");
+    launchBrowser(createLaunchOptions());
+  }
+
+  @AfterAll
+  static void clearDeferRouteDecisions() {
+    System.clearProperty("playwright.deferRouteDecisions");
+  }
+
+  @Test
+  void shouldFulfillManyConcurrentRequests() {
+    page.route("**/*.json", route -> route.fulfill(new Route.FulfillOptions()
+      .withContentType("text/plain")
+      .withBody(route.request().url())));
+    page.navigate(server.EMPTY_PAGE);
+    Object matched = page.evaluate("async () => {\n" +
+      "  const urls = [];\n" +
+      "  for (let i = 0; i < 100; i++)\n" +
+      "    urls.push(location.origin + '/data-' + i + '.json');\n" +
+      "  const texts = await Promise.all(urls.map(url => fetch(url).then(r => r.text())));\n" +
+      "  return texts.filter((text, i) => text === urls[i]).length;\n" +
+      "}");
+    assertEquals(100, matched);
+  }
+
+  @Test
+  void shouldResumeAndAbort() {
+    page.route("**/empty.html", route -> route.resume());
+    assertEquals(200, page.navigate(server.EMPTY_PAGE).status());
+    page.route("**/one-style.css", route -> route.abort());
+    assertThrows(PlaywrightException.class, () -> page.navigate(server.PREFIX + "/one-style.css"));
+  }
+
+  @Test
+  void shouldReportFailedDecisionOnNextCall() {
+    page.route("**/empty.html", route -> {
+      route.fulfill(new Route.FulfillOptions().withBody("first"));
+      // Doesn't throw here, the driver rejects it after the handler has returned.
+      route.fulfill(new Route.FulfillOptions().withBody("second"));
+    });
+    page.navigate(server.EMPTY_PAGE);
+    PlaywrightException e = assertThrows(PlaywrightException.class, () -> page.evaluate("() => 1"));
+    assertTrue(e.getMessage().contains("Deferred fulfill failed"), e.getMessage());
+    // The error is reported once.
+    assertEquals(2, page.evaluate("() => 2"));
+  }
+
+  @Test
+  void shouldReportFailedDecisionsOnlyOnTheirPage() {
+    Page other = context.newPage();
+    page.route("**/*.json", route -> {
+      route.fulfill(new Route.FulfillOptions().withBody("first"));
+      route.fulfill(new Route.FulfillOptions().withBody("second"));
+    });
+    page.navigate(server.EMPTY_PAGE);
+    page.evaluate("() => Promise.all([fetch('/a.json'), fetch('/b.json')]).then(() => true)");
+    // Calls on other pages are not affected.
+    assertEquals(3, other.evaluate("() => 3"));
+    int reported = 0;
+    // The second decision may still be in flight when the first failure is reported.
+    for (int i = 0; i < 100 && reported < 2; i++) {
+      try {
+        page.evaluate("() => 1");
+      } catch (PlaywrightException e) {
+        assertTrue(e.getMessage().contains("Deferred fulfill failed"), e.getMessage());
+        reported += 1 + e.getSuppressed().length;
+      }
+    }
+    // Every failure is reported.
+    assertEquals(2, reported);
+    assertEquals(2, page.evaluate("() => 2"));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTimerWheel extends TestBase {
+  private static Thread timerThread() {
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if ("Playwright-TimerWheel".equals(thread.getName())) {
+        return thread;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  void shouldExpireTimeoutsAndCancelCompletedWaits() {
+    PlaywrightMetrics metrics = PlaywrightMetrics.of(playwright);
+    int before = metrics.pendingTimers();
+    PlaywrightException e = assertThrows(PlaywrightException.class,
+      () -> page.waitForPopup(new Page.WaitForPopupOptions().withTimeout(100), () -> {}));
+    assertTrue(e.getMessage().contains("Timeout 100ms exceeded"), e.getMessage());
+    assertEquals(before, metrics.pendingTimers());
+
+    // Completes long before the timeout, the timer must be cancelled.
+    page.waitForPopup(new Page.WaitForPopupOptions().withTimeout(60_000),
+      () -> page.evaluate("() => window.open('about:blank')"));
+    assertEquals(before, metrics.pendingTimers());
+  }
+
+  @Test
+  void shouldParkTimerThreadWhenNoTimersArePending() throws InterruptedException {
+    assertThrows(PlaywrightException.class,
+      () -> page.waitForPopup(new Page.WaitForPopupOptions().withTimeout(10), () -> {}));
+    Thread thread = timerThread();
+    assertNotNull(thread);
+    for (int i = 0; i < 100 && thread.getState() != Thread.State.WAITING; i++) {
+      Thread.sleep(20);
+    }
+    assertEquals(0, PlaywrightMetrics.of(playwright).pendingTimers());
+    assertEquals(Thread.State.WAITING, thread.getState());
+  }
+
+  @Test
+  void shouldKeepFiringTimersAfterTimerThreadIsInterrupted() {
+    assertThrows(PlaywrightException.class,
+      () -> page.waitForPopup(new Page.WaitForPopupOptions().withTimeout(10), () -> {}));
+    Thread thread = timerThread();
+    assertNotNull(thread);
+    thread.interrupt();
+    PlaywrightException e = assertThrows(PlaywrightException.class,
+      () -> page.waitForPopup(new Page.WaitForPopupOptions().withTimeout(100), () -> {}));
+    assertTrue(e.getMessage().contains("Timeout 100ms exceeded"), e.getMessage());
+    assertTrue(thread.isAlive());
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PipeTransport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestTransportThreads extends TestBase {
+  private static int javaVersion() {
+    String version = System.getProperty("java.specification.version");
+    return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+  }
+
+  @Test
+  void shouldUseVirtualThreadsOnlyFromMultiReleaseJarOnJava21() {
+    boolean isFromJar = PipeTransport.class.getProtectionDomain().getCodeSource().getLocation().getPath().endsWith(".jar");
+    boolean hasPlatformWriter = false;
+    // Virtual threads are not reported by getAllStackTraces().
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if ("Playwright-PipeWriter".equals(thread.getName())) {
+        hasPlatformWriter = true;
+      }
+    }
+    assertEquals(!(isFromJar && javaVersion() >= 21), hasPlatformWriter);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBrowserTypePrelaunch {
+  @Test
+  void shouldReturnPrelaunchedBrowserOnce() {
+    String browserName = System.getenv("BROWSER");
+    if (browserName == null) {
+      browserName = "chromium";
+    }
+    BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().withHeadless(true);
+    try (PlaywrightImpl playwright = (PlaywrightImpl) Playwright.create(new Playwright.CreateOptions().withPrelaunch(browserName, options))) {
+      BrowserTypeImpl browserType = playwright.browserType(browserName);
+      WaitableResult<JsonElement> prelaunch = browserType.prelaunchedResult(options);
+      assertNotNull(prelaunch);
+      BrowserImpl first = browserType.launch(new BrowserType.LaunchOptions().withHeadless(true));
+      // The launch has waited for the pre-launched browser rather than starting another one.
+      assertTrue(prelaunch.isDone());
+      assertEquals(prelaunch.get().getAsJsonObject().getAsJsonObject("browser").get("guid").getAsString(), first.guid);
+      assertNull(browserType.prelaunchedResult(options));
+      assertEquals(2021, first.newPage().evaluate("() => 2021"));
+
+      BrowserImpl second = browserType.launch(new BrowserType.LaunchOptions().withHeadless(true));
+      assertNotSame(first, second);
+      assertTrue(first.isConnected());
+      assertTrue(second.isConnected());
+    }
+  }
+}
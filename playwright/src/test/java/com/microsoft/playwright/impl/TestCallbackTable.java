@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCallbackTable {
+  @Test
+  void shouldReturnCallbacksById() {
+    CallbackTable table = new CallbackTable();
+    WaitableResult<JsonElement> first = new WaitableResult<>();
+    WaitableResult<JsonElement> second = new WaitableResult<>();
+    int firstId = table.add(first);
+    int secondId = table.add(second);
+    assertEquals(2, table.size());
+    assertSame(second, table.remove(secondId));
+    assertNull(table.remove(secondId));
+    assertSame(first, table.remove(firstId));
+    assertEquals(0, table.size());
+    assertEquals(0, table.oldestCallAgeMillis());
+  }
+
+  @Test
+  void shouldNotGrowForeverWhenOneCallIsNeverAnswered() throws InterruptedException {
+    CallbackTable table = new CallbackTable();
+    WaitableResult<JsonElement> stuck = new WaitableResult<>();
+    int stuckId = table.add(stuck);
+    Thread.sleep(50);
+    for (int i = 0; i < 100_000; i++) {
+      assertNotNull(table.remove(table.add(new WaitableResult<>())));
+    }
+    assertTrue(table.capacity() <= CallbackTable.MAX_CAPACITY, "capacity: " + table.capacity());
+    assertEquals(1, table.size());
+    assertTrue(table.oldestCallAgeMillis() >= 50);
+    assertSame(stuck, table.remove(stuckId));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  void shouldKeepAllCallsWhenMoreThanCapacityAreOutstanding() {
+    CallbackTable table = new CallbackTable();
+    List<WaitableResult<JsonElement>> callbacks = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < 3 * CallbackTable.MAX_CAPACITY; i++) {
+      WaitableResult<JsonElement> callback = new WaitableResult<>();
+      callbacks.add(callback);
+      ids.add(table.add(callback));
+    }
+    assertEquals(callbacks.size(), table.size());
+    for (int i = callbacks.size() - 1; i >= 0; i--) {
+      assertSame(callbacks.get(i), table.remove(ids.get(i)));
+    }
+    assertEquals(0, table.size());
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.PlaywrightMetrics.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestOutgoingQueue {
+  @Test
+  void shouldTakeHigherPriorityFirst() throws InterruptedException {
+    OutgoingQueue queue = new OutgoingQueue(10);
+    queue.put("bulk", Priority.BULK);
+    queue.put("interactive", Priority.INTERACTIVE);
+    queue.put("urgent", Priority.URGENT);
+    assertEquals(1, queue.size(Priority.BULK));
+    assertEquals(1, queue.size(Priority.URGENT));
+    assertEquals("urgent", queue.take());
+    assertEquals("interactive", queue.take());
+    assertEquals("bulk", queue.take());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  void shouldKeepOrderWithinPriority() throws InterruptedException {
+    OutgoingQueue queue = new OutgoingQueue(10);
+    queue.put("1", Priority.INTERACTIVE);
+    queue.put("2", Priority.INTERACTIVE);
+    queue.put("3", Priority.INTERACTIVE);
+    assertEquals("1", queue.take());
+    assertEquals("2", queue.take());
+    assertEquals("3", queue.take());
+  }
+
+  @Test
+  void shouldNotStarveOverdueMessages() throws InterruptedException {
+    OutgoingQueue queue = new OutgoingQueue(10);
+    queue.put("bulk", Priority.BULK);
+    Thread.sleep(150);
+    queue.put("urgent", Priority.URGENT);
+    queue.put("interactive", Priority.INTERACTIVE);
+    assertEquals("bulk", queue.take());
+    assertEquals("urgent", queue.take());
+    assertEquals("interactive", queue.take());
+    assertTrue(queue.averageWaitMillis(Priority.BULK) >= 150);
+  }
+
+  @Test
+  void shouldBlockWhenFull() throws InterruptedException {
+    OutgoingQueue queue = new OutgoingQueue(1);
+    queue.put("first", Priority.INTERACTIVE);
+    Thread producer = new Thread(() -> {
+      try {
+        queue.put("second", Priority.URGENT);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    producer.start();
+    for (int i = 0; i < 100 && producer.getState() != Thread.State.WAITING; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(Thread.State.WAITING, producer.getState());
+    assertEquals("first", queue.take());
+    producer.join(10_000);
+    assertEquals("second", queue.take());
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightCluster;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightClusterRestart {
+  @Test
+  void shouldRestartCrashedDriverAndKeepPlacingContexts() throws InterruptedException {
+    String browserName = System.getenv("BROWSER");
+    PlaywrightCluster.Options options = new PlaywrightCluster.Options().withShards(2)
+      .withBrowserType(browserName == null ? "chromium" : browserName);
+    try (PlaywrightClusterImpl cluster = (PlaywrightClusterImpl) PlaywrightCluster.create(options)) {
+      PlaywrightImpl crashed = cluster.shardPlaywright(0);
+      crashed.killDriver();
+      for (int i = 0; i < 400 && cluster.shardStats().get(0).restarts == 0; i++) {
+        Thread.sleep(50);
+      }
+      PlaywrightCluster.ShardStats restarted = cluster.shardStats().get(0);
+      assertEquals(1, restarted.restarts);
+      assertTrue(restarted.isRunning);
+      assertNotSame(crashed, cluster.shardPlaywright(0));
+
+      BrowserContext first = cluster.newContext();
+      first.newPage();
+      BrowserContext second = cluster.newContext();
+      second.newPage();
+      for (PlaywrightCluster.ShardStats shard : cluster.shardStats()) {
+        assertTrue(shard.isRunning);
+        assertEquals(1, shard.contexts);
+        assertEquals(1, shard.pages);
+      }
+      assertEquals(2021, first.pages().get(0).evaluate("() => 2021"));
+      assertEquals(2021, second.pages().get(0).evaluate("() => 2021"));
+    }
+  }
+}
@@ -615,7 +615,17 @@ class Method extends Element {
     if ("Playwright.create".equals(jsonPath)) {
       writeJavadoc(params, output, offset);
       output.add(offset + "static Playwright create() {");
-      output.add(offset + "  return PlaywrightImpl.create();");
+      output.add(offset + "  return create(null);");
+      output.add(offset + "}");
+      writeJavadoc(output, offset, "Same as {@link #create()} but allows to warm up browsers while the caller is initializing.\n" +
+        "<pre>{@code\n" +
+        "Playwright playwright = Playwright.create(new Playwright.CreateOptions()\n" +
+        "  .withPrelaunch(\"chromium\", new BrowserType.LaunchOptions().withHeadless(true)));\n" +
+        "// ... other initialization ...\n" +
+        "Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().withHeadless(true));\n" +
+        "}</pre>");
+      output.add(offset + "static Playwright create(CreateOptions options) {");
+      output.add(offset + "  return PlaywrightImpl.create(options);");
       output.add(offset + "}");
       return;
     }
@@ -897,6 +907,9 @@ class Interface extends TypeDefinition {
     writeJavadoc(output, offset, comment());
     output.add("public interface " + jsonName + implementsClause + " {");
     offset = "  ";
+    if ("Playwright".equals(jsonName)) {
+      writeCreateOptions(output, offset);
+    }
     writeEvents(output, offset);
     super.writeTo(output, offset);
     for (Method m : methods) {
@@ -906,6 +919,24 @@ class Interface extends TypeDefinition {
     output.add("\n");
   }
 
+  // Options of Playwright.create(), they are not part of the api.json.
+  private void writeCreateOptions(List<String> output, String offset) {
+    output.add(offset + "class CreateOptions {");
+    writeJavadoc(output, offset + "  ", "Browsers to launch in the background as soon as the driver has started, keyed by browser type name ({@code\n" +
+      "\"chromium\"}, {@code \"firefox\"} or {@code \"webkit\"}). The first {@link BrowserType#launch BrowserType.launch()}\n" +
+      "call with equal options returns the pre-launched browser, waiting for it if the launch is still in progress.");
+    output.add(offset + "  public Map<String, BrowserType.LaunchOptions> prelaunch;");
+    output.add("");
+    output.add(offset + "  public CreateOptions withPrelaunch(String browserType, BrowserType.LaunchOptions options) {");
+    output.add(offset + "    if (prelaunch == null) {");
+    output.add(offset + "      prelaunch = new LinkedHashMap<>();");
+    output.add(offset + "    }");
+    output.add(offset + "    prelaunch.put(browserType, options == null ? new BrowserType.LaunchOptions() : options);");
+    output.add(offset + "    return this;");
+    output.add(offset + "  }");
+    output.add(offset + "}");
+  }
+
   private void writeEvents(List<String> output, String offset) {
     if (events.isEmpty()) {
       return;